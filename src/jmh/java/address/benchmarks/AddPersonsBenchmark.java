@@ -0,0 +1,72 @@
+package address.benchmarks;
+
+import address.exceptions.DuplicateDataException;
+import address.model.ContactGroup;
+import address.model.ModelManager;
+import address.model.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adding a batch of new persons (a tenth of the book) to the model: the duplicate check,
+ * the list change, the index updates and the change event. The batch is removed again between invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AddPersonsBenchmark {
+
+    @Param({"10000", "100000"})
+    public int bookSize;
+
+    private ModelManager modelManager;
+    private List<Person> newPersons;
+
+    @Setup
+    public void setup() {
+        final List<Person> persons = new ArrayList<>(bookSize);
+        for (int i = 0; i < bookSize; i++) {
+            final Person person = new Person("First" + i, "Last" + i);
+            person.setCity("City" + i % 500);
+            persons.add(person);
+        }
+        final List<ContactGroup> groups = new ArrayList<>();
+        groups.add(new ContactGroup("friends"));
+        modelManager = new ModelManager(persons, groups);
+
+        newPersons = new ArrayList<>();
+        for (int i = 0; i < bookSize / 10; i++) {
+            final Person person = new Person("NewFirst" + i, "NewLast" + i);
+            person.setCity("City" + i % 500);
+            newPersons.add(person);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void removeAdded() {
+        modelManager.deletePersons(newPersons);
+    }
+
+    @Benchmark
+    public void addPersons() throws DuplicateDataException {
+        modelManager.addPersons(newPersons);
+    }
+}
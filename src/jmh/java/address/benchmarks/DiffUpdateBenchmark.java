@@ -0,0 +1,88 @@
+package address.benchmarks;
+
+import address.model.AddressBookWrapper;
+import address.model.ContactGroup;
+import address.model.ModelManager;
+import address.model.Person;
+import address.util.DataConstraints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the hash-heavy model operations: applying a mirror copy of the book to the model
+ * (the diff update done on every sync), and the duplicate checks done before adding persons.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DiffUpdateBenchmark {
+
+    /** Fraction of persons changed in the mirror copy */
+    private static final double CHANGE_RATE = 0.01;
+
+    @Param({"10000", "100000"})
+    public int bookSize;
+
+    private ModelManager modelManager;
+    private AddressBookWrapper mirror;
+    private List<Person> persons;
+    private List<Person> newPersons;
+
+    @Setup
+    public void setup() {
+        persons = new ArrayList<>(bookSize);
+        for (int i = 0; i < bookSize; i++) {
+            final Person person = new Person("First" + i, "Last" + i);
+            person.setCity("City" + i % 500);
+            persons.add(person);
+        }
+        final List<ContactGroup> groups = new ArrayList<>();
+        groups.add(new ContactGroup("friends"));
+        modelManager = new ModelManager(new ArrayList<>(persons), groups);
+
+        final List<Person> mirrorPersons = persons.stream().map(Person::new).collect(Collectors.toList());
+        for (int i = 0; i < bookSize * CHANGE_RATE; i++) {
+            mirrorPersons.get(i * (int) (1 / CHANGE_RATE)).setCity("Moved");
+        }
+        mirror = new AddressBookWrapper();
+        mirror.setPersons(mirrorPersons);
+        mirror.setGroups(groups.stream().map(ContactGroup::new).collect(Collectors.toList()));
+
+        newPersons = new ArrayList<>();
+        for (int i = 0; i < bookSize / 10; i++) {
+            newPersons.add(new Person("NewFirst" + i, "NewLast" + i));
+        }
+    }
+
+    @Benchmark
+    public void diffUpdate() {
+        modelManager.updateUsingExternalData(mirror);
+    }
+
+    @Benchmark
+    public boolean itemsAreUnique() {
+        return DataConstraints.itemsAreUnique(persons);
+    }
+
+    @Benchmark
+    public boolean canCombineWithoutDuplicates() {
+        return DataConstraints.canCombineWithoutDuplicates(persons, newPersons);
+    }
+}
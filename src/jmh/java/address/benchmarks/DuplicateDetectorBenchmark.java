@@ -0,0 +1,95 @@
+package address.benchmarks;
+
+import address.dedup.DuplicateDetector;
+import address.model.Person;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures batch duplicate detection over a large book with a fraction of near-duplicate contacts.
+ * The pairsCompared counter gives the pairs scored per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class DuplicateDetectorBenchmark {
+
+    private static final String[] FIRST_NAMES = {"John", "Jon", "Anna", "Ana", "Stefan", "Stephan", "Ruth",
+        "Hans", "Heinz", "Lydia", "Martin", "Cornelia", "Werner", "Maria", "Mario", "Peter", "Petra"};
+    private static final String[] LAST_NAMES = {"Smith", "Smyth", "Muster", "Mueller", "Muller", "Kurz",
+        "Meier", "Meyer", "Kunz", "Best", "Schmidt", "Schmitt", "Weber", "Wagner", "Becker", "Baker"};
+    private static final double NEAR_DUPLICATE_RATE = 0.05;
+
+    @Param({"100000", "1000000"})
+    public int bookSize;
+
+    private List<Person> persons;
+    private DuplicateDetector detector;
+
+    /**
+     * Extra per-iteration results, reported by JMH as rates.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long pairsCompared;
+        public long duplicatesFound;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            pairsCompared = 0;
+            duplicatesFound = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        persons = new ArrayList<>(bookSize);
+        for (int i = 0; i < bookSize; i++) {
+            final Person person;
+            if (i > 0 && random.nextDouble() < NEAR_DUPLICATE_RATE) {
+                person = new Person(persons.get(random.nextInt(i)));
+                person.setFirstName(person.getFirstName() + (char) ('a' + random.nextInt(26)));
+            } else {
+                person = new Person(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + random.nextInt(1000),
+                                    LAST_NAMES[random.nextInt(LAST_NAMES.length)] + random.nextInt(1000));
+                person.setStreet(random.nextInt(200) + " Main Street");
+                person.setPostalCode(10000 + random.nextInt(bookSize / 50 + 1));
+                person.setCity("City" + random.nextInt(500));
+                person.setBirthday(LocalDate.of(1940 + random.nextInt(60), 1 + random.nextInt(12),
+                                                1 + random.nextInt(28)));
+            }
+            persons.add(person);
+        }
+        detector = new DuplicateDetector();
+    }
+
+    @Benchmark
+    public void detect(Counters counters, Blackhole blackhole) {
+        final DuplicateDetector.Report report = detector.detect(persons, blackhole::consume);
+        counters.pairsCompared += report.comparisons;
+        counters.duplicatesFound += report.duplicates;
+    }
+}
@@ -0,0 +1,83 @@
+package address.benchmarks;
+
+import address.events.EventManager;
+import address.events.LocalModelChangedEvent;
+import address.model.ContactGroup;
+import address.model.Person;
+import com.google.common.eventbus.Subscribe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures posting a model change event to a handler through the event bus.
+ *
+ * EventManager logs every event to System.out; the log is discarded here, so the figure includes formatting
+ * the log line but not writing it to a console.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPostBenchmark {
+
+    @Param({"1000", "100000"})
+    public int bookSize;
+
+    private LocalModelChangedEvent event;
+    private PrintStream originalOut;
+    private long handled;
+
+    @Setup
+    public void setup() {
+        final List<Person> persons = new ArrayList<>(bookSize);
+        for (int i = 0; i < bookSize; i++) {
+            persons.add(new Person("First" + i, "Last" + i));
+        }
+        event = new LocalModelChangedEvent(persons, new ArrayList<ContactGroup>());
+        EventManager.getInstance().registerHandler(this);
+        originalOut = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+                @Override
+                public void write(int b) {
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                }
+            }));
+    }
+
+    @TearDown
+    public void restoreOut() {
+        System.setOut(originalOut);
+    }
+
+    @Subscribe
+    public void handleLocalModelChangedEvent(LocalModelChangedEvent lmce) {
+        handled++;
+    }
+
+    @Benchmark
+    public long post() {
+        EventManager.getInstance().post(event);
+        return handled;
+    }
+}
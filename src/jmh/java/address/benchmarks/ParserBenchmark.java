@@ -0,0 +1,78 @@
+package address.benchmarks;
+
+import address.model.Person;
+import address.parser.ParseException;
+import address.parser.Parser;
+import address.parser.expr.Expr;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a filter, and evaluating it against every person in the book
+ * (the unindexed path taken by the filter engine).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ParserBenchmark {
+
+    private static final String[] FIRST_NAMES = {"John", "Anna", "Stefan", "Ruth", "Hans", "Heinz", "Lydia",
+        "Martin", "Cornelia", "Werner", "Maria", "Peter"};
+    private static final String[] LAST_NAMES = {"Smith", "Muster", "Mueller", "Kurz", "Meier", "Meyer", "Kunz",
+        "Best", "Schmidt", "Weber", "Wagner", "Becker"};
+
+    @Param({"10000", "100000"})
+    public int bookSize;
+
+    @Param({"name:Muster", "city:City7 name:Hans", "fuzzy:Hanz", "sounds:Maier"})
+    public String filter;
+
+    private List<Person> persons;
+    private Expr expr;
+
+    @Setup
+    public void setup() throws ParseException {
+        final Random random = new Random(42);
+        persons = new ArrayList<>(bookSize);
+        for (int i = 0; i < bookSize; i++) {
+            final Person person = new Person(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                                             LAST_NAMES[random.nextInt(LAST_NAMES.length)] + i);
+            person.setCity("City" + random.nextInt(100));
+            persons.add(person);
+        }
+        expr = Parser.parse(filter);
+    }
+
+    @Benchmark
+    public Expr parse() throws ParseException {
+        return Parser.parse(filter);
+    }
+
+    @Benchmark
+    public int satisfies() {
+        int matches = 0;
+        for (Person person : persons) {
+            if (expr.satisfies(person)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
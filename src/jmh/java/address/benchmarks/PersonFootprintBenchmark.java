@@ -0,0 +1,77 @@
+package address.benchmarks;
+
+import address.model.Person;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to build a large book the way the XML loader does (default constructor, then setters),
+ * and the heap retained per person. The retainedBytesPerPerson counter gives the footprint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 1, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Xms4g"})
+public class PersonFootprintBenchmark {
+
+    @Param({"1000000"})
+    public int bookSize;
+
+    /**
+     * Extra per-iteration results.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long retainedBytesPerPerson;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytesPerPerson = 0;
+        }
+    }
+
+    @Benchmark
+    public List<Person> createBook(Counters counters) {
+        final long before = getUsedHeapAfterGc();
+        final List<Person> persons = new ArrayList<>(bookSize);
+        for (int i = 0; i < bookSize; i++) {
+            final Person person = new Person();
+            person.setFirstName("First" + i);
+            person.setLastName("Last" + i);
+            person.setStreet(i % 1000 + " Main Street");
+            person.setPostalCode(10000 + i % 90000);
+            person.setCity("City" + i % 500);
+            person.setBirthday(LocalDate.of(1940 + i % 60, 1 + i % 12, 1 + i % 28));
+            persons.add(person);
+        }
+        counters.retainedBytesPerPerson = (getUsedHeapAfterGc() - before) / bookSize;
+        return persons;
+    }
+
+    private static long getUsedHeapAfterGc() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,91 @@
+package address.benchmarks;
+
+import address.model.ModelManager;
+import address.sync.CloudSimulator;
+import address.sync.SyncManager;
+import address.sync.VirtualClock;
+import address.sync.WorkloadProfile;
+import address.util.AddressBookGenerator;
+import address.util.XmlHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.bind.JAXBException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures syncing with the simulated cloud: an hour of its traffic, synced every 10 seconds, is replayed in
+ * virtual time and applied to the model. The cloud starts from a generated book and the same seed every time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SyncReplayBenchmark {
+
+    private static final long SEED = 42;
+    private static final long SYNC_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final long DURATION_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @Param({"1000"})
+    public int bookSize;
+
+    @Param({"standard", "busyTeam", "flakyNetwork"})
+    public String profile;
+
+    private File cloudFile;
+    private VirtualClock clock;
+    private SyncManager syncManager;
+    private ModelManager modelManager;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException, JAXBException {
+        cloudFile = File.createTempFile("cloud-bench", ".xml");
+        final AddressBookGenerator generator = new AddressBookGenerator(SEED);
+        generator.writeToFile(cloudFile, bookSize);
+
+        final WorkloadProfile workload = createProfile(profile);
+        workload.setSeed(SEED);
+        clock = new VirtualClock();
+        syncManager = new SyncManager(new CloudSimulator(workload, clock));
+        modelManager = new ModelManager(new ArrayList<>(), new ArrayList<>());
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteFile() {
+        cloudFile.delete();
+    }
+
+    private static WorkloadProfile createProfile(String name) {
+        switch (name) {
+        case "busyTeam":
+            return WorkloadProfile.busyTeam();
+        case "flakyNetwork":
+            return WorkloadProfile.flakyNetwork();
+        default:
+            return WorkloadProfile.standard();
+        }
+    }
+
+    @Benchmark
+    public int replayHour() {
+        return syncManager.replay(clock, cloudFile, SYNC_INTERVAL_MILLIS, DURATION_MILLIS,
+                                  modelManager::updateUsingExternalData);
+    }
+}
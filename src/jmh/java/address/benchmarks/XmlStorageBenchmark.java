@@ -0,0 +1,85 @@
+package address.benchmarks;
+
+import address.model.AddressBookWrapper;
+import address.model.ContactGroup;
+import address.model.Person;
+import address.util.XmlHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.bind.JAXBException;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving the book to an XML file and loading it back, as done on every local change and sync.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class XmlStorageBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int bookSize;
+
+    private List<Person> persons;
+    private List<ContactGroup> groups;
+    private File savedFile;
+    private File targetFile;
+
+    @Setup
+    public void setup() throws IOException, JAXBException {
+        final ContactGroup friends = new ContactGroup("friends");
+        groups = new ArrayList<>();
+        groups.add(friends);
+        persons = new ArrayList<>(bookSize);
+        for (int i = 0; i < bookSize; i++) {
+            final Person person = new Person("First" + i, "Last" + i);
+            person.setStreet(i % 1000 + " Main Street");
+            person.setPostalCode(10000 + i % 90000);
+            person.setCity("City" + i % 500);
+            person.setBirthday(LocalDate.of(1940 + i % 60, 1 + i % 12, 1 + i % 28));
+            if (i % 3 == 0) {
+                person.setContactGroups(Collections.singletonList(friends));
+            }
+            persons.add(person);
+        }
+        savedFile = File.createTempFile("addressbook-bench", ".xml");
+        targetFile = File.createTempFile("addressbook-bench-out", ".xml");
+        XmlHelper.saveToFile(savedFile, persons, groups);
+    }
+
+    @TearDown
+    public void deleteFiles() {
+        savedFile.delete();
+        targetFile.delete();
+    }
+
+    @Benchmark
+    public void save() throws JAXBException {
+        XmlHelper.saveToFile(targetFile, persons, groups);
+    }
+
+    @Benchmark
+    public AddressBookWrapper load() throws JAXBException {
+        return XmlHelper.getDataFromFile(savedFile);
+    }
+}
@@ -14,10 +14,15 @@ import address.preferences.PreferencesManager;
 import address.storage.StorageManager;
 import address.sync.SyncManager;
 import address.util.Config;
+import address.util.PlatformEx;
+import address.util.StartupProfiler;
 
 import javafx.application.Application;
 import javafx.stage.Stage;
 
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The main entry point to the application.
  */
@@ -45,11 +50,40 @@ public class MainApp extends Application {
 
     @Override
     public void start(Stage primaryStage) {
-        setupComponents();
-        mainController.start(primaryStage);
+        final StartupProfiler profiler = StartupProfiler.getInstance();
+        profiler.mark("FX application started");
+        profiler.time("set up components", this::setupComponents);
+        final File dataFile = PreferencesManager.getInstance().getPersonFile();
+
+        if (config.isFastStart) {
+            final CompletableFuture<Void> dataLoaded = storageManager.loadDataInBackground(dataFile);
+            mainController.start(primaryStage);
+            PlatformEx.runAfterNextFrame(() -> {
+                    profiler.mark("first paint");
+                    // syncing before the data file is applied would have the file overwrite the synced changes
+                    dataLoaded.thenRun(() -> {
+                            syncManager.startSyncingData(config.updateInterval, config.isSimulateRandomChanges);
+                            reportStartup();
+                        });
+                });
+            return;
+        }
 
-        EventManager.getInstance().post(new LoadDataRequestEvent(PreferencesManager.getInstance().getPersonFile()));
+        mainController.start(primaryStage);
+        profiler.time("load data", () -> EventManager.getInstance().post(new LoadDataRequestEvent(dataFile)));
         syncManager.startSyncingData(config.updateInterval, config.isSimulateRandomChanges);
+        PlatformEx.runAfterNextFrame(() -> {
+                profiler.mark("first paint");
+                reportStartup();
+            });
+    }
+
+    private void reportStartup() {
+        final StartupProfiler profiler = StartupProfiler.getInstance();
+        if (storageManager.getLastLoadStatistics() != null) {
+            profiler.mark(storageManager.getLastLoadStatistics());
+        }
+        profiler.report();
     }
 
     protected void setupComponents() {
@@ -1,17 +1,18 @@
 package address.controller;
 
 import java.text.DateFormatSymbols;
+import java.time.Month;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Locale;
 
+import address.model.BirthdayStatistics;
+
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.CategoryAxis;
 import javafx.scene.chart.XYChart;
-import address.model.Person;
 
 /**
  * The controller for the birthday statistics view.
@@ -43,23 +44,16 @@ public class BirthdayStatisticsController {
     }
 
     /**
-     * Sets the persons to show the statistics for.
-     * 
-     * @param persons
+     * Sets the statistics to show. The chart follows changes to them for as long as it is shown.
      */
-    public void setPersonData(List<Person> persons) {
-        // Count the number of people having their birthday in a specific month.
-        int[] monthCounter = new int[12];
-        for (Person p : persons) {
-            int month = p.getBirthday().getMonthValue() - 1;
-            monthCounter[month]++;
-        }
-
+    public void setStatistics(BirthdayStatistics statistics) {
         XYChart.Series<String, Integer> series = new XYChart.Series<>();
 
-        // Create a XYChart.Data object for each month. Add it to the series.
-        for (int i = 0; i < monthCounter.length; i++) {
-            series.getData().add(new XYChart.Data<>(monthNames.get(i), monthCounter[i]));
+        // Create a XYChart.Data object for each month, bound to its count. Add it to the series.
+        for (Month month : Month.values()) {
+            XYChart.Data<String, Integer> data = new XYChart.Data<>(monthNames.get(month.ordinal()), 0);
+            data.YValueProperty().bind(statistics.monthCountProperty(month).asObject());
+            series.getData().add(data);
         }
 
         barChart.getData().add(series);
@@ -9,15 +9,17 @@ import address.model.ContactGroup;
 import address.model.ModelManager;
 import address.model.Person;
 import address.preferences.PreferencesManager;
+import address.ui.WebPagePreview;
 import address.util.Config;
+import address.util.StartupProfiler;
 
 import com.google.common.eventbus.Subscribe;
 import com.teamdev.jxbrowser.chromium.Browser;
-import com.teamdev.jxbrowser.chromium.javafx.BrowserView;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.BorderPane;
@@ -42,14 +44,22 @@ public class MainController {
     private ModelManager modelManager;
     private MainApp mainApp;
 
-    Browser browser;
+    private static final String WEB_PAGE_PLACEHOLDER =
+            "To view contact's web page, click on the contact on the left.";
+
+    private final WebPagePreview webPagePreview;
 
     public MainController(MainApp mainApp, ModelManager modelManager, Config config){
         EventManager.getInstance().registerHandler(this);
         this.modelManager = modelManager;
         this.config = config;
         this.mainApp = mainApp;
-        this.browser = new Browser();
+        this.webPagePreview = new WebPagePreview(WebPagePreview.DEFAULT_CAPACITY, MainController::createBrowser,
+                                                 view -> rootLayout.setCenter(view));
+        webPagePreview.setPrefetchEnabled(config.isPrefetchNeighborPages);
+        if (!config.isFastStart) {
+            webPagePreview.addSpareBrowser(createBrowser());
+        }
     }
     
     public void start(Stage primaryStage) {
@@ -59,13 +69,26 @@ public class MainController {
         // Set the application icon.
         this.primaryStage.getIcons().add(getImage("/images/address_book_32.png"));
 
-        initRootLayout();
-        showPersonOverview();
-        showPersonWebPage();
+        final StartupProfiler profiler = StartupProfiler.getInstance();
+        profiler.time("load root layout", this::initRootLayout);
+        profiler.time("load person overview", this::showPersonOverview);
+        profiler.time("show web page", this::showPersonWebPage);
     }
 
     public void loadBrowserUrl(URL url){
-        browser.loadURL(url.toExternalForm());
+        webPagePreview.show(url);
+    }
+
+    /**
+     * Previews the web page of a newly selected person, once the selection stops changing.
+     * @param neighbors the web pages of the persons next to the selected one
+     */
+    public void previewWebPage(URL url, List<URL> neighbors) {
+        webPagePreview.select(url, neighbors);
+    }
+
+    private static Browser createBrowser() {
+        return StartupProfiler.getInstance().time("create browser", () -> new Browser());
     }
 
     /**
@@ -120,10 +143,16 @@ public class MainController {
         }
     }
 
+    /**
+     * Shows the web page area. In fast-start mode, where no browser is created until the first page is loaded,
+     * a plain placeholder is shown until then.
+     */
     public void showPersonWebPage() {
-            BrowserView browserView = new BrowserView(browser);
-            browser.loadHTML("<html><body><h3>To view contact's web page, click on the contact on the left.</h3></body></html>");
-            rootLayout.setCenter(browserView);
+        if (config.isFastStart) {
+            rootLayout.setCenter(new Label(WEB_PAGE_PLACEHOLDER));
+            return;
+        }
+        webPagePreview.showHtml("<html><body><h3>" + WEB_PAGE_PLACEHOLDER + "</h3></body></html>");
     }
 
     /**
@@ -274,9 +303,9 @@ public class MainController {
             dialogStage.setScene(scene);
             dialogStage.getIcons().add(getImage("/images/calendar.png"));
 
-            // Set the persons into the controller.
+            // Set the live statistics of the persons in view into the controller.
             BirthdayStatisticsController controller = loader.getController();
-            controller.setPersonData(modelManager.getFilteredPersons());
+            controller.setStatistics(modelManager.getBirthdayStatistics());
 
             dialogStage.show();
 
@@ -1,11 +1,18 @@
 package address.controller;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import address.model.ContactGroup;
 import address.model.Person;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.StringBinding;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.control.Label;
@@ -29,11 +36,19 @@ public class PersonCardController {
     @FXML
     private Label contactGroups;
 
+    private Person person;
+    private StringBinding postalCodeText;
+    private StringBinding birthdayText;
+    private final List<ContactGroup> observedGroups = new ArrayList<>();
+    /** Held strongly by the card; the person and its groups only hold it weakly, so they do not keep the card alive */
+    private final InvalidationListener contactGroupsListener = observable -> refreshContactGroups();
+    private final WeakInvalidationListener weakContactGroupsListener =
+            new WeakInvalidationListener(contactGroupsListener);
 
-    Person person;
-    public PersonCardController(Person person) {
-        this.person = person;
-
+    /**
+     * Loads the card layout. The card stays empty until a person is shown with {@link #setPerson(Person)}.
+     */
+    public PersonCardController() {
         FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/view/PersonListCard.fxml"));
         fxmlLoader.setController(this);
         try {
@@ -43,26 +58,66 @@ public class PersonCardController {
         }
     }
 
-    @FXML
-    public void initialize() {
-        firstName.setText(person.getFirstName());
-        lastName.setText(person.getLastName());
-        street.setText(person.getStreet());
-        postalCode.setText(Integer.toString(person.getPostalCode()));
-        city.setText(person.getCity());
-        birthday.setText(person.getBirthday().format(DateTimeFormatter.ISO_LOCAL_DATE));
-        contactGroups.setText(getContactGroupsString(person.getContactGroupsCopy()));
+    /**
+     * Shows the person's details on this card, replacing those of the previously shown person.
+     * The labels are bound to the person's properties, so later edits to the person are reflected
+     * on the card without rebuilding it.
+     *
+     * @param person the person to show, or null to release the card from the previous person
+     */
+    public void setPerson(Person person) {
+        if (person == this.person) return;
+        unbindPerson();
+        this.person = person;
+        if (person == null) return;
+
+        firstName.textProperty().bind(person.firstNameProperty());
+        lastName.textProperty().bind(person.lastNameProperty());
+        street.textProperty().bind(person.streetProperty());
+        postalCodeText = person.postalCodeProperty().asString();
+        postalCode.textProperty().bind(postalCodeText);
+        city.textProperty().bind(person.cityProperty());
+        birthdayText = Bindings.createStringBinding(() -> formatBirthday(person.getBirthday()),
+                                                    person.birthdayProperty());
+        birthday.textProperty().bind(birthdayText);
+        person.contactGroupsProperty().addListener(weakContactGroupsListener);
+        refreshContactGroups();
     }
 
-    private String getContactGroupsString(List<ContactGroup> contactGroups) {
-        StringBuffer buffer = new StringBuffer();
-        for (int i = 0; i < contactGroups.size(); i++) {
-            if (i > 0) {
-                buffer.append(", ");
-            }
-            buffer.append(contactGroups.get(i).getName());
-        }
-        return buffer.toString();
+    /**
+     * Releases the bindings to the currently shown person, if any.
+     */
+    private void unbindPerson() {
+        if (person == null) return;
+        firstName.textProperty().unbind();
+        lastName.textProperty().unbind();
+        street.textProperty().unbind();
+        postalCode.textProperty().unbind();
+        postalCodeText.dispose();
+        city.textProperty().unbind();
+        birthday.textProperty().unbind();
+        birthdayText.dispose();
+        person.contactGroupsProperty().removeListener(weakContactGroupsListener);
+        observedGroups.forEach(group -> group.nameProperty().removeListener(weakContactGroupsListener));
+        observedGroups.clear();
+        person = null;
+    }
+
+    /**
+     * Rebuilds the group label, and watches the names of the groups now shown so renames are picked up too.
+     */
+    private void refreshContactGroups() {
+        observedGroups.forEach(group -> group.nameProperty().removeListener(weakContactGroupsListener));
+        observedGroups.clear();
+        observedGroups.addAll(person.contactGroupsProperty());
+        observedGroups.forEach(group -> group.nameProperty().addListener(weakContactGroupsListener));
+        contactGroups.setText(observedGroups.stream()
+                .map(ContactGroup::getName)
+                .collect(Collectors.joining(", ")));
+    }
+
+    private static String formatBirthday(LocalDate birthday) {
+        return birthday == null ? "" : birthday.format(DateTimeFormatter.ISO_LOCAL_DATE);
     }
 
     public GridPane getLayout() {
@@ -5,34 +5,48 @@ import address.events.FilterCommittedEvent;
 import address.exceptions.DuplicatePersonException;
 import address.model.ModelManager;
 import address.model.Person;
+import address.model.PersonSortOrder;
 import address.parser.ParseException;
 import address.parser.Parser;
 import address.parser.expr.Expr;
 import address.parser.expr.PredExpr;
 import address.ui.PersonListViewCell;
+import address.util.Debouncer;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.ListView;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.TextField;
 
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public class PersonOverviewController {
 
+    /** Quiet period (in milliseconds) after the last keystroke before the filter is applied */
+    private static final int FILTER_DEBOUNCE_DELAY = 250;
+
     @FXML
     private ListView<Person> personList;
 
     @FXML
     private TextField filterField;
 
+    @FXML
+    private ChoiceBox<PersonSortOrder> sortOrderChoice;
+
     private MainController mainController;
     private ModelManager modelManager;
 
+    private final Debouncer filterDebouncer = new Debouncer(FILTER_DEBOUNCE_DELAY);
+
     public PersonOverviewController() {
         EventManager.getInstance().registerHandler(this);
     }
@@ -44,6 +58,8 @@ public class PersonOverviewController {
     @FXML
     private void initialize() {
         personList.setContextMenu(createContextMenu());
+        filterField.textProperty().addListener((observable, oldValue, newValue) ->
+                filterDebouncer.call(this::handleFilterChanged));
     }
 
     public void setConnections(MainController mainController, ModelManager modelManager) {
@@ -52,13 +68,34 @@ public class PersonOverviewController {
 
         // Add observable list data to the list
         personList.setItems(modelManager.getFilteredPersons());
+        sortOrderChoice.getItems().setAll(PersonSortOrder.values());
+        sortOrderChoice.setValue(PersonSortOrder.NONE);
+        sortOrderChoice.valueProperty().addListener((observable, oldValue, newValue) ->
+                handleSortOrderChanged(newValue));
         personList.setCellFactory(listView -> new PersonListViewCell());
         personList.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
-            mainController.loadBrowserUrl(newValue.getWebPageUrl());
-        });
+                if (newValue == null) return;
+                mainController.previewWebPage(newValue.getWebPageUrl(), getNeighborWebPageUrls());
+            });
     }
 
 
+    /**
+     * @return the web pages of the persons just above and below the selected one
+     */
+    private List<URL> getNeighborWebPageUrls() {
+        final int selectedIndex = personList.getSelectionModel().getSelectedIndex();
+        final List<Person> shown = personList.getItems();
+        final List<URL> neighbors = new ArrayList<>();
+        if (selectedIndex > 0) {
+            neighbors.add(shown.get(selectedIndex - 1).getWebPageUrl());
+        }
+        if (selectedIndex >= 0 && selectedIndex + 1 < shown.size()) {
+            neighbors.add(shown.get(selectedIndex + 1).getWebPageUrl());
+        }
+        return neighbors;
+    }
+
     /**
      * Called when the user clicks on the delete button.
      */
@@ -80,7 +117,7 @@ public class PersonOverviewController {
      */
     @FXML
     private void handleNewPerson() {
-        Optional<Person> newPerson = Optional.of(new Person());
+        Optional<Person> newPerson = Optional.of(new Person("", "")); // with placeholder details
         while (true) { // keep re-asking until user provides valid input or cancels operation.
             newPerson = mainController.getPersonDataInput(newPerson.get());
             if (newPerson.isPresent()) { // user provided input
@@ -126,8 +163,27 @@ public class PersonOverviewController {
         }
     }
 
+    /**
+     * Lists the persons in the chosen order. The sorted view is only kept while it is shown.
+     */
+    private void handleSortOrderChanged(PersonSortOrder sortOrder) {
+        final Person selected = personList.getSelectionModel().getSelectedItem();
+        modelManager.getSortedPersons().setSortOrder(sortOrder);
+        personList.setItems(sortOrder == PersonSortOrder.NONE ? modelManager.getFilteredPersons()
+                                                              : modelManager.getSortedPersons());
+        if (selected != null) {
+            personList.getSelectionModel().select(selected);
+            personList.scrollTo(selected);
+        }
+    }
+
+    /**
+     * Applies the filter in the filter field. Called when the user commits the filter, and
+     * after the user has stopped typing in the filter field.
+     */
     @FXML
     private void handleFilterChanged() {
+        filterDebouncer.cancel();
         Expr filterExpression = PredExpr.TRUE;
         boolean isFilterValid = true;
         try {
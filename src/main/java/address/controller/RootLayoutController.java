@@ -90,6 +90,16 @@ public class RootLayoutController {
         }
     }
 
+    @FXML
+    private void handleUndo() {
+        modelManager.undo();
+    }
+
+    @FXML
+    private void handleRedo() {
+        modelManager.redo();
+    }
+
     /**
      * Appends dummy data to existing data
      */
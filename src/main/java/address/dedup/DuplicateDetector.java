@@ -0,0 +1,243 @@
+package address.dedup;
+
+import address.model.Person;
+import address.util.Soundex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Finds likely duplicate contacts in a batch of persons, including near-duplicates such as
+ * "Jon Smith" and "John Smith" at the same address.
+ *
+ * Comparing every pair of persons is quadratic, so persons are first grouped into blocks by
+ * each of several blocking keys (by default: how the name sounds, and the postal code); only
+ * persons sharing a block are compared. Blocks too large to compare exhaustively are sorted by
+ * name and each person is compared with its nearest neighbours only. Blocks are processed in
+ * parallel and duplicates are handed to the caller as soon as they are found.
+ */
+public class DuplicateDetector {
+
+    public static final double DEFAULT_THRESHOLD = 0.85;
+
+    /** Blocks larger than this are compared within a sliding window instead of exhaustively */
+    private static final int MAX_EXHAUSTIVE_BLOCK_SIZE = 500;
+    private static final int WINDOW_SIZE = 25;
+
+    /** Blocking key: sound of the last name and first letter of the first name */
+    public static final Function<Person, String> PHONETIC_NAME_KEY = person -> {
+        final String lastName = Soundex.encode(person.getLastName());
+        final String firstName = Soundex.encode(person.getFirstName());
+        return lastName.isEmpty() ? null : lastName + (firstName.isEmpty() ? "" : firstName.substring(0, 1));
+    };
+
+    /** Blocking key: postal code */
+    public static final Function<Person, String> POSTAL_CODE_KEY = person ->
+            Integer.toString(person.getPostalCode());
+
+    private static final Comparator<SimilarityScorer.Features> NAME_ORDER = Comparator
+            .comparing((SimilarityScorer.Features features) -> features.lastName)
+            .thenComparing(features -> features.firstName);
+
+    /**
+     * Summary of one detection run.
+     */
+    public static class Report {
+        public final int persons;
+        public final int blocks;
+        public final long comparisons;
+        public final long duplicates;
+        public final long elapsedNanos;
+
+        Report(int persons, int blocks, long comparisons, long duplicates, long elapsedNanos) {
+            this.persons = persons;
+            this.blocks = blocks;
+            this.comparisons = comparisons;
+            this.duplicates = duplicates;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return candidate pairs scored per second
+         */
+        public double getPairsPerSecond() {
+            return elapsedNanos == 0 ? 0 : comparisons * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Duplicate detection: %d persons, %d blocks, %d pairs compared, %d duplicates, "
+                                 + "%.1f ms (%.0f pairs/sec)",
+                                 persons, blocks, comparisons, duplicates, elapsedNanos / 1e6, getPairsPerSecond());
+        }
+    }
+
+    private final double threshold;
+    private final List<Function<Person, String>> blockingKeys;
+    private final SimilarityScorer scorer = new SimilarityScorer();
+
+    public DuplicateDetector() {
+        this(DEFAULT_THRESHOLD, Arrays.asList(PHONETIC_NAME_KEY, POSTAL_CODE_KEY));
+    }
+
+    /**
+     * @param threshold minimum similarity (between 0 and 1) for a pair to be reported
+     * @param blockingKeys functions giving the block a person belongs to, or null to leave it out of that pass
+     */
+    public DuplicateDetector(double threshold, List<Function<Person, String>> blockingKeys) {
+        this.threshold = threshold;
+        this.blockingKeys = new ArrayList<>(blockingKeys);
+    }
+
+    /**
+     * Finds all likely duplicates, most similar pairs first.
+     */
+    public List<DuplicatePair> findDuplicates(List<Person> persons) {
+        final List<DuplicatePair> duplicates = Collections.synchronizedList(new ArrayList<>());
+        detect(persons, duplicates::add);
+        duplicates.sort(Comparator.comparingDouble((DuplicatePair pair) -> pair.score).reversed());
+        return duplicates;
+    }
+
+    /**
+     * Streams the likely duplicates among persons to the sink as they are found.
+     * Each pair is reported at most once.
+     *
+     * @param sink receives the duplicates. Is called concurrently from several threads.
+     * @return summary of the run
+     */
+    public Report detect(List<Person> persons, Consumer<DuplicatePair> sink) {
+        final long start = System.nanoTime();
+        final String[][] keys = new String[blockingKeys.size()][persons.size()];
+        final SimilarityScorer.Features[] features = new SimilarityScorer.Features[persons.size()];
+        IntStream.range(0, persons.size()).parallel().forEach(i -> {
+                features[i] = new SimilarityScorer.Features(persons.get(i));
+                for (int pass = 0; pass < blockingKeys.size(); pass++) {
+                    keys[pass][i] = blockingKeys.get(pass).apply(persons.get(i));
+                }
+            });
+
+        final Run run = new Run(persons, features, keys, sink);
+        int blockCount = 0;
+        for (int pass = 0; pass < blockingKeys.size(); pass++) {
+            final int currentPass = pass;
+            final Map<String, Block> blocks = buildBlocks(keys[pass]);
+            blocks.forEach((key, block) -> {
+                    if (block.size > MAX_EXHAUSTIVE_BLOCK_SIZE) {
+                        run.partiallyComparedKeys.get(currentPass).add(key);
+                    }
+                });
+            blocks.values().parallelStream().forEach(block -> run.compareBlock(block, currentPass));
+            blockCount += blocks.size();
+        }
+        return new Report(persons.size(), blockCount, run.comparisons.sum(), run.duplicates.sum(),
+                          System.nanoTime() - start);
+    }
+
+    private static Map<String, Block> buildBlocks(String[] keys) {
+        final Map<String, Block> blocks = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                blocks.computeIfAbsent(keys[i], key -> new Block()).add(i);
+            }
+        }
+        blocks.values().removeIf(block -> block.size < 2);
+        return blocks;
+    }
+
+    /**
+     * Indices of the persons sharing a blocking key.
+     */
+    private static class Block {
+        int[] members = new int[2];
+        int size;
+
+        void add(int member) {
+            if (size == members.length) {
+                members = Arrays.copyOf(members, size * 2);
+            }
+            members[size++] = member;
+        }
+    }
+
+    /**
+     * State shared by the workers of one detection run.
+     */
+    private class Run {
+        final List<Person> persons;
+        final SimilarityScorer.Features[] features;
+        final String[][] keys;
+        final Consumer<DuplicatePair> sink;
+        final List<Set<String>> partiallyComparedKeys = new ArrayList<>();
+        final LongAdder comparisons = new LongAdder();
+        final LongAdder duplicates = new LongAdder();
+
+        Run(List<Person> persons, SimilarityScorer.Features[] features, String[][] keys,
+            Consumer<DuplicatePair> sink) {
+            this.persons = persons;
+            this.features = features;
+            this.keys = keys;
+            this.sink = sink;
+            for (int pass = 0; pass < keys.length; pass++) {
+                partiallyComparedKeys.add(Collections.synchronizedSet(new HashSet<>()));
+            }
+        }
+
+        void compareBlock(Block block, int pass) {
+            if (block.size <= MAX_EXHAUSTIVE_BLOCK_SIZE) {
+                for (int i = 0; i < block.size; i++) {
+                    for (int j = i + 1; j < block.size; j++) {
+                        comparePair(block.members[i], block.members[j], pass);
+                    }
+                }
+                return;
+            }
+            final Integer[] sorted = new Integer[block.size];
+            for (int i = 0; i < block.size; i++) {
+                sorted[i] = block.members[i];
+            }
+            Arrays.sort(sorted, (a, b) -> NAME_ORDER.compare(features[a], features[b]));
+            for (int i = 0; i < sorted.length; i++) {
+                for (int j = i + 1; j < Math.min(sorted.length, i + 1 + WINDOW_SIZE); j++) {
+                    comparePair(sorted[i], sorted[j], pass);
+                }
+            }
+        }
+
+        void comparePair(int first, int second, int pass) {
+            if (wasComparedInEarlierPass(first, second, pass)) return;
+            comparisons.increment();
+            final double score = scorer.scoreAtLeast(features[first], features[second], threshold);
+            if (score >= 0) {
+                duplicates.increment();
+                sink.accept(new DuplicatePair(persons.get(first), persons.get(second), score));
+            }
+        }
+
+        /**
+         * A pair sharing an earlier pass's key was already compared, unless that block was too large to
+         * be compared exhaustively.
+         */
+        boolean wasComparedInEarlierPass(int first, int second, int pass) {
+            for (int earlierPass = 0; earlierPass < pass; earlierPass++) {
+                final String key = keys[earlierPass][first];
+                if (key != null && key.equals(keys[earlierPass][second])
+                        && !partiallyComparedKeys.get(earlierPass).contains(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
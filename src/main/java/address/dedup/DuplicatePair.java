@@ -0,0 +1,25 @@
+package address.dedup;
+
+import address.model.Person;
+
+/**
+ * Two persons that are likely to be the same contact, and how similar they are.
+ */
+public class DuplicatePair {
+
+    public final Person first;
+    public final Person second;
+    /** Similarity between 0 and 1 */
+    public final double score;
+
+    public DuplicatePair(Person first, Person second, double score) {
+        this.first = first;
+        this.second = second;
+        this.score = score;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Possible duplicate (%.2f): %s / %s", score, first, second);
+    }
+}
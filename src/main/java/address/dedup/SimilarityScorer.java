@@ -0,0 +1,82 @@
+package address.dedup;
+
+import address.model.Person;
+import address.util.StringUtil;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Scores how likely two persons are to be the same contact, as a weighted combination of
+ * the similarities of their individual fields.
+ */
+public class SimilarityScorer {
+
+    private static final double FIRST_NAME_WEIGHT = 0.30;
+    private static final double LAST_NAME_WEIGHT = 0.30;
+    private static final double STREET_WEIGHT = 0.15;
+    private static final double POSTAL_CODE_WEIGHT = 0.10;
+    private static final double CITY_WEIGHT = 0.05;
+    private static final double BIRTHDAY_WEIGHT = 0.10;
+
+    /**
+     * The normalized fields of a person that are scored. Computing these once per person rather
+     * than once per comparison matters when each person takes part in many comparisons.
+     */
+    public static class Features {
+        final String firstName;
+        final String lastName;
+        final String street;
+        final String city;
+        final int postalCode;
+        final LocalDate birthday;
+
+        public Features(Person person) {
+            firstName = normalize(person.getFirstName());
+            lastName = normalize(person.getLastName());
+            street = normalize(person.getStreet());
+            city = normalize(person.getCity());
+            postalCode = person.getPostalCode();
+            birthday = person.getBirthday();
+        }
+
+        private static String normalize(String text) {
+            return text == null ? "" : text.toLowerCase();
+        }
+    }
+
+    /**
+     * @return similarity between 0 (nothing in common) and 1 (identical in every scored field)
+     */
+    public double score(Person first, Person second) {
+        return score(new Features(first), new Features(second));
+    }
+
+    public double score(Features first, Features second) {
+        return scoreAtLeast(first, second, 0);
+    }
+
+    /**
+     * Like {@link #score(Features, Features)}, but stops early once the score is known to be below threshold.
+     * Cheap field comparisons are done first, so most dissimilar pairs are rejected without comparing every field.
+     *
+     * @return the score, or -1 if it is below threshold
+     */
+    public double scoreAtLeast(Features first, Features second, double threshold) {
+        double score = POSTAL_CODE_WEIGHT * (first.postalCode == second.postalCode ? 1 : 0)
+                + CITY_WEIGHT * (!first.city.isEmpty() && first.city.equals(second.city) ? 1 : 0)
+                + BIRTHDAY_WEIGHT * (Objects.equals(first.birthday, second.birthday) ? 1 : 0);
+        double remainingWeight = FIRST_NAME_WEIGHT + LAST_NAME_WEIGHT + STREET_WEIGHT;
+
+        score += FIRST_NAME_WEIGHT * StringUtil.jaroWinklerSimilarity(first.firstName, second.firstName);
+        remainingWeight -= FIRST_NAME_WEIGHT;
+        if (score + remainingWeight < threshold) return -1;
+
+        score += LAST_NAME_WEIGHT * StringUtil.jaroWinklerSimilarity(first.lastName, second.lastName);
+        remainingWeight -= LAST_NAME_WEIGHT;
+        if (score + remainingWeight < threshold) return -1;
+
+        score += STREET_WEIGHT * StringUtil.jaroWinklerSimilarity(first.street, second.street);
+        return score < threshold ? -1 : score;
+    }
+}
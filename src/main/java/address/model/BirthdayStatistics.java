@@ -0,0 +1,118 @@
+package address.model;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Live counts of the birthdays of the persons in view, per month and per day of the year.
+ *
+ * The counts are kept up to date as persons come into view, leave it or are updated, at constant cost per person,
+ * so edits and syncs never need a recount. A new filter, though, is reported by the filtered list as every
+ * person leaving the view and the matching ones entering it, so it costs as much as a recount: O(old + new).
+ * The month counts are observable, e.g. for a chart to follow them.
+ * Changed on the same thread as the model.
+ */
+public class BirthdayStatistics {
+
+    /** Days in a leap year, so that 29 February has its own count */
+    private static final int DAYS_IN_YEAR = 366;
+    private static final int LEAP_YEAR = 2000;
+
+    /** The persons counted, with the birthday they were counted under (null if none) */
+    private final Map<Person, MonthDay> counted = new IdentityHashMap<>();
+    private final ReadOnlyIntegerWrapper[] monthCounts = new ReadOnlyIntegerWrapper[Month.values().length];
+    private final int[] dayCounts = new int[DAYS_IN_YEAR];
+    private int withoutBirthdayCount;
+
+    public BirthdayStatistics() {
+        for (int i = 0; i < monthCounts.length; i++) {
+            monthCounts[i] = new ReadOnlyIntegerWrapper();
+        }
+    }
+
+    /**
+     * @return the number of persons in view having their birthday in the month
+     */
+    public int getMonthCount(Month month) {
+        return monthCounts[month.ordinal()].get();
+    }
+
+    public ReadOnlyIntegerProperty monthCountProperty(Month month) {
+        return monthCounts[month.ordinal()].getReadOnlyProperty();
+    }
+
+    /**
+     * @return the number of persons in view having their birthday on the day
+     */
+    public int getDayCount(MonthDay day) {
+        return dayCounts[dayOfYear(day)];
+    }
+
+    /**
+     * @return the number of persons in view without a known birthday
+     */
+    public int getWithoutBirthdayCount() {
+        return withoutBirthdayCount;
+    }
+
+    /**
+     * @return the number of persons in view
+     */
+    public int getTotalCount() {
+        return counted.size();
+    }
+
+    /**
+     * Counts a person that has come into view.
+     */
+    void add(Person person) {
+        if (counted.containsKey(person)) return;
+        final MonthDay birthday = toMonthDay(person.getBirthday());
+        counted.put(person, birthday);
+        count(birthday, 1);
+    }
+
+    /**
+     * Stops counting a person that has left the view.
+     */
+    void remove(Person person) {
+        if (!counted.containsKey(person)) return;
+        count(counted.remove(person), -1);
+    }
+
+    /**
+     * Recounts a person whose details have changed, if the person is in view.
+     */
+    void update(Person person) {
+        if (!counted.containsKey(person)) return;
+        final MonthDay birthday = toMonthDay(person.getBirthday());
+        final MonthDay previous = counted.put(person, birthday);
+        if (birthday == null ? previous == null : birthday.equals(previous)) return;
+        count(previous, -1);
+        count(birthday, 1);
+    }
+
+    private void count(MonthDay birthday, int delta) {
+        if (birthday == null) {
+            withoutBirthdayCount += delta;
+            return;
+        }
+        final ReadOnlyIntegerWrapper monthCount = monthCounts[birthday.getMonthValue() - 1];
+        monthCount.set(monthCount.get() + delta);
+        dayCounts[dayOfYear(birthday)] += delta;
+    }
+
+    private static MonthDay toMonthDay(LocalDate date) {
+        return date == null ? null : MonthDay.from(date);
+    }
+
+    private static int dayOfYear(MonthDay day) {
+        return day.atYear(LEAP_YEAR).getDayOfYear() - 1;
+    }
+}
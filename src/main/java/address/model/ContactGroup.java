@@ -1,30 +1,63 @@
 package address.model;
 
+import address.util.StringDictionary;
 import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 
 public class ContactGroup extends DataType {
 
-    private final SimpleStringProperty name;
+    // The property is only created when first asked for, after which the name is set through it and kept in step
+    private String name;
+    private StringProperty nameProperty;
+    /** Cached hash code of the name; 0 until computed and whenever the name changes */
+    private int hash;
 
     public ContactGroup() {
-        this.name = new SimpleStringProperty("");
+        this("");
     }
 
     public ContactGroup(String name) {
-        this.name = new SimpleStringProperty(name);
+        this.name = name;
     }
 
     // Copy constructor
     public ContactGroup(ContactGroup grp) {
-        name = new SimpleStringProperty(grp.getName());
+        this(grp.getName());
     }
 
     public String getName() {
-        return name.get();
+        return name;
     }
 
     public void setName(String name) {
-        this.name.set(name);
+        if (nameProperty == null) {
+            this.name = name;
+            hash = 0;
+        } else {
+            nameProperty.set(name);
+        }
+    }
+
+    /**
+     * Replaces the name by an equal string shared through the dictionary.
+     */
+    public void internStrings(StringDictionary dictionary) {
+        if (nameProperty == null) {
+            name = dictionary.intern(name);
+        }
+    }
+
+    public StringProperty nameProperty() {
+        if (nameProperty == null) {
+            nameProperty = new SimpleStringProperty(this, "name", name) {
+                @Override
+                protected void invalidated() {
+                    ContactGroup.this.name = get(); // the property has a name of its own
+                    hash = 0;
+                }
+            };
+        }
+        return nameProperty;
     }
 
     public ContactGroup update(ContactGroup group) {
@@ -40,12 +73,26 @@ public class ContactGroup extends DataType {
 
         final ContactGroup other = (ContactGroup) otherGroup;
         if (this.getName() == other.getName()) return true;
+        if (this.getNameHash() != other.getNameHash()) return false;
         return this.getName().equals(other.getName());
     }
 
     @Override
     public int hashCode() {
-        return getName().hashCode();
+        return getNameHash();
+    }
+
+    /**
+     * Hash of the name, computed without allocating and cached until the name changes.
+     * Unlike hashCode(), cannot be overridden, so it can be compared with that of a subclass instance.
+     */
+    private int getNameHash() {
+        int h = hash;
+        if (h == 0) {
+            h = getName().hashCode();
+            hash = h;
+        }
+        return h;
     }
 
     @Override
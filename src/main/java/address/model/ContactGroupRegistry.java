@@ -0,0 +1,72 @@
+package address.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Interns contact groups by name, so that the group list and every person belonging to a group
+ * refer to a single instance of it. Renaming that instance is then seen by all its members.
+ */
+public class ContactGroupRegistry {
+
+    private final Map<String, ContactGroup> groupsByName = new HashMap<>();
+
+    /**
+     * @return the canonical instance of the group with the same name as the given one.
+     *         The given group becomes canonical if there is none yet.
+     */
+    public synchronized ContactGroup intern(ContactGroup group) {
+        final ContactGroup canonical = groupsByName.putIfAbsent(group.getName(), group);
+        return canonical == null ? group : canonical;
+    }
+
+    /**
+     * @return the canonical instance of the group with the given name, if any
+     */
+    public synchronized Optional<ContactGroup> find(String name) {
+        return Optional.ofNullable(groupsByName.get(name));
+    }
+
+    /**
+     * Re-files a canonical group that has been renamed.
+     *
+     * @param group the canonical group, already carrying its new name
+     * @param oldName the name it was registered under
+     * @return a different group previously registered under the new name, which the caller should
+     *         replace with the renamed group wherever it is used
+     */
+    public synchronized Optional<ContactGroup> rename(ContactGroup group, String oldName) {
+        if (groupsByName.get(oldName) == group) {
+            groupsByName.remove(oldName);
+        }
+        final ContactGroup displaced = groupsByName.put(group.getName(), group);
+        return displaced == null || displaced == group ? Optional.empty() : Optional.of(displaced);
+    }
+
+    /**
+     * Unregisters a canonical group that is no longer in use, e.g. after it has been deleted,
+     * so that a group created later by the same name becomes canonical instead.
+     * Does nothing if another instance is registered under the group's name.
+     */
+    public synchronized void remove(ContactGroup group) {
+        if (groupsByName.get(group.getName()) == group) {
+            groupsByName.remove(group.getName());
+        }
+    }
+
+    /**
+     * Replaces the person's groups by their canonical instances.
+     * Does not count as an update of the person.
+     */
+    public synchronized void canonicalize(Person person) {
+        person.replaceContactGroups(this::intern);
+    }
+
+    /**
+     * @return number of distinct groups registered
+     */
+    public synchronized int size() {
+        return groupsByName.size();
+    }
+}
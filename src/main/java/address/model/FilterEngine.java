@@ -0,0 +1,209 @@
+package address.model;
+
+import address.model.index.PersonIndexes;
+import address.parser.expr.Expr;
+import address.parser.expr.PredExpr;
+
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates filter expressions against the person data away from the FX Application Thread.
+ *
+ * The expression is evaluated on the frozen persons of the latest published {@link ModelSnapshot}, never on
+ * the live ones, which the FX Application Thread may be changing. The matches are mapped back to the live persons
+ * by id when the result is published. Where the expression can be narrowed down using the secondary indexes,
+ * only the candidate persons are evaluated. A newly submitted expression supersedes any evaluation still in progress,
+ * which is abandoned. The result of an evaluation is published to the filtered list as a single predicate swap,
+ * so the visible set changes in one atomic update.
+ *
+ * Persons added or updated in place while an evaluation is in progress are tested against the expression
+ * directly when its result is published, as are those added or updated afterwards.
+ */
+public class FilterEngine {
+
+    /** Data sets at least this large are evaluated in parallel */
+    private static final int PARALLEL_THRESHOLD = 10000;
+    /** Number of persons evaluated between checks for a superseding query */
+    private static final int CHUNK_SIZE = 1024;
+
+    private final FilteredList<Person> target;
+    private final PersonIndexes indexes;
+    private final Supplier<ModelSnapshot> snapshots;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = new Thread(r, "filter-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    private final AtomicLong latestQuery = new AtomicLong();
+    private Future<?> pending;
+    /** Persons added or updated since the latest evaluation started. Accessed on the FX Application Thread. */
+    private final Set<Person> changedSinceSubmit = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * @param source the data to be filtered. Should only be modified on the FX Application Thread,
+     *               with persons changed in place reported as updates.
+     * @param target the filtered view of source whose predicate will be managed by this engine
+     * @param indexes secondary indexes over source
+     * @param snapshots gives the latest published version of source
+     */
+    public FilterEngine(ObservableList<Person> source, FilteredList<Person> target, PersonIndexes indexes,
+                        Supplier<ModelSnapshot> snapshots) {
+        this.target = target;
+        this.indexes = indexes;
+        this.snapshots = snapshots;
+        source.addListener(this::noteChangedPersons);
+    }
+
+    private void noteChangedPersons(ListChangeListener.Change<? extends Person> change) {
+        if (pending == null) return; // no evaluation since the last one was published
+        while (change.next()) {
+            if (change.wasUpdated()) {
+                changedSinceSubmit.addAll(change.getList().subList(change.getFrom(), change.getTo()));
+            } else if (change.wasAdded()) {
+                changedSinceSubmit.addAll(change.getAddedSubList());
+            }
+        }
+    }
+
+    /**
+     * Starts evaluating the expression in the background, cancelling any earlier evaluation.
+     * Should be called from the FX Application Thread.
+     *
+     * @param expr the filter to be applied
+     */
+    public synchronized void submit(Expr expr) {
+        final long query = latestQuery.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        changedSinceSubmit.clear();
+        if (expr == PredExpr.TRUE) {
+            target.setPredicate(null);
+            return;
+        }
+        final ModelSnapshot snapshot = snapshots.get();
+        pending = worker.submit(() -> evaluate(expr, snapshot, query));
+    }
+
+    private void evaluate(Expr expr, ModelSnapshot snapshot, long query) {
+        final long[] matchIds;
+        try {
+            final List<Person> candidates = expr.getCandidates(indexes)
+                    .map(found -> getFrozenCandidates(snapshot, found))
+                    .orElse(snapshot.getPersons());
+            matchIds = findMatches(expr, candidates, query).stream().mapToLong(Person::getId).toArray();
+        } catch (CancellationException e) {
+            return; // superseded by a newer query
+        } catch (RuntimeException e) {
+            System.out.println("Error evaluating filter " + expr + ": " + e);
+            e.printStackTrace();
+            Platform.runLater(() -> abandon(query));
+            return;
+        }
+        Platform.runLater(() -> publish(expr, matchIds, query));
+    }
+
+    /**
+     * Stops noting changed persons for a query whose evaluation failed, leaving the filter as it was.
+     */
+    private synchronized void abandon(long query) {
+        if (!isCurrent(query)) return;
+        pending = null;
+        changedSinceSubmit.clear();
+    }
+
+    /**
+     * @return the frozen copies of the candidates found in the live indexes, matched by id
+     */
+    private static List<Person> getFrozenCandidates(ModelSnapshot snapshot, Set<Person> candidates) {
+        final Set<Long> candidateIds = candidates.stream().map(Person::getId).collect(Collectors.toSet());
+        return snapshot.getPersons().stream()
+                .filter(person -> candidateIds.contains(person.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private synchronized void publish(Expr expr, long[] matchIds, long query) {
+        if (!isCurrent(query)) return;
+        final List<Person> matches = new ArrayList<>(matchIds.length);
+        for (long id : matchIds) {
+            indexes.byId().get(id).ifPresent(matches::add); // gone if deleted since
+        }
+        final FilterResult result = new FilterResult(expr, matches, changedSinceSubmit);
+        pending = null;
+        changedSinceSubmit.clear();
+        target.setPredicate(result);
+        result.dropMatches();
+    }
+
+    private List<Person> findMatches(Expr expr, List<Person> candidates, long query) {
+        final int numChunks = (candidates.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream chunks = IntStream.range(0, numChunks);
+        if (candidates.size() >= PARALLEL_THRESHOLD) {
+            chunks = chunks.parallel();
+        }
+        return chunks.mapToObj(chunk -> {
+                if (!isCurrent(query)) {
+                    throw new CancellationException();
+                }
+                final int end = Math.min(candidates.size(), (chunk + 1) * CHUNK_SIZE);
+                return candidates.subList(chunk * CHUNK_SIZE, end).stream()
+                        .filter(expr::satisfies)
+                        .collect(Collectors.toList());
+            })
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
+    }
+
+    private boolean isCurrent(long query) {
+        return latestQuery.get() == query;
+    }
+
+    /**
+     * The visible set computed by one evaluation, used while the filtered list applies it.
+     * Persons changed since the evaluation started are tested against the expression directly.
+     * Once applied, the matches are dropped: the filtered list only tests persons again when they
+     * are added or updated, and those are tested directly too.
+     */
+    private static class FilterResult implements Predicate<Person> {
+        private final Expr expr;
+        private Set<Person> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        private Set<Person> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        FilterResult(Expr expr, List<Person> matches, Set<Person> changed) {
+            this.expr = expr;
+            this.matches.addAll(matches);
+            this.changed.addAll(changed);
+        }
+
+        void dropMatches() {
+            matches = null;
+            changed = null;
+        }
+
+        @Override
+        public boolean test(Person person) {
+            if (matches == null || changed.contains(person)) return expr.satisfies(person);
+            return matches.contains(person);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package address.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Finds the groups whose names contain a given text, without looking at every group.
+ *
+ * Every suffix of every name is kept sorted, so the names containing a text are those having a suffix that
+ * starts with it, which lie next to each other in the sorted order. A search takes O(log n + matches) time.
+ * Matching is case sensitive.
+ */
+class GroupNameIndex {
+
+    private final NavigableMap<String, List<SelectableContactGroup>> bySuffix = new TreeMap<>();
+
+    GroupNameIndex(List<SelectableContactGroup> groups) {
+        for (SelectableContactGroup group : groups) {
+            final String name = group.getName();
+            for (int i = 0; i < name.length(); i++) {
+                bySuffix.computeIfAbsent(name.substring(i), suffix -> new ArrayList<>(1)).add(group);
+            }
+        }
+    }
+
+    /**
+     * @param text not empty
+     * @return the groups whose names contain the text, compared by identity
+     */
+    Set<SelectableContactGroup> find(String text) {
+        assert !text.isEmpty();
+        final Set<SelectableContactGroup> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<String, List<SelectableContactGroup>> entry : bySuffix.tailMap(text, true).entrySet()) {
+            if (!entry.getKey().startsWith(text)) break;
+            result.addAll(entry.getValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,250 @@
+package address.model;
+
+import javafx.collections.ListChangeListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Undo/redo history of the changes made to the model.
+ *
+ * Each edit is kept as a compact delta rather than a copy of the data: for a list change, its position, the items
+ * taken out of the list and the number of items put in; for an update, the other state of the updated item.
+ * Undoing an edit swaps these with the current state, which turns the delta into the one for redoing it.
+ *
+ * Memory use is bounded by a budget on the estimated size of the kept deltas. When it is exceeded,
+ * the oldest edits are forgotten first.
+ */
+public class ModelHistory {
+
+    public static final long DEFAULT_BUDGET_BYTES = 16L * 1024 * 1024;
+
+    /** Rough retained size of an item, or copy of one, that may be held only by the history */
+    private static final int ESTIMATED_ITEM_BYTES = 512;
+    /** Rough size of the bookkeeping of a delta */
+    private static final int ESTIMATED_DELTA_BYTES = 32;
+
+    private long budgetBytes;
+    private final Deque<Edit> undoEdits = new ArrayDeque<>(); // latest first
+    private final Deque<Edit> redoEdits = new ArrayDeque<>(); // next first
+    private long usedBytes;
+
+    /**
+     * @param budgetBytes the estimated memory the kept edits may take up
+     */
+    public ModelHistory(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    public boolean canUndo() {
+        return !undoEdits.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoEdits.isEmpty();
+    }
+
+    public int getUndoCount() {
+        return undoEdits.size();
+    }
+
+    public int getRedoCount() {
+        return redoEdits.size();
+    }
+
+    /**
+     * Changes the budget, forgetting the oldest edits if they no longer fit.
+     */
+    public void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        evictOverBudget();
+    }
+
+    /**
+     * @return the estimated memory taken up by the kept edits
+     */
+    public long getEstimatedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Adds an edit that has just been made. Edits that were undone can no longer be redone.
+     */
+    void record(Edit edit) {
+        redoEdits.forEach(redoEdit -> usedBytes -= redoEdit.estimatedBytes);
+        redoEdits.clear();
+        push(undoEdits, edit);
+    }
+
+    /**
+     * Undoes the latest edit, if any.
+     * @param replay swaps the state recorded in the edit with the current state of the model
+     * @return false if there was nothing to undo
+     */
+    boolean undo(Consumer<Edit> replay) {
+        return move(undoEdits, redoEdits, replay);
+    }
+
+    /**
+     * Redoes the latest undone edit, if any.
+     * @param replay swaps the state recorded in the edit with the current state of the model
+     * @return false if there was nothing to redo
+     */
+    boolean redo(Consumer<Edit> replay) {
+        return move(redoEdits, undoEdits, replay);
+    }
+
+    /**
+     * Forgets all edits, e.g. when the model is replaced by other data.
+     */
+    void clear() {
+        undoEdits.clear();
+        redoEdits.clear();
+        usedBytes = 0;
+    }
+
+    private boolean move(Deque<Edit> from, Deque<Edit> to, Consumer<Edit> replay) {
+        final Edit edit = from.poll();
+        if (edit == null) return false;
+        usedBytes -= edit.estimatedBytes;
+        replay.accept(edit);
+        push(to, edit);
+        return true;
+    }
+
+    private void push(Deque<Edit> edits, Edit edit) {
+        edit.estimatedBytes = edit.estimateBytes();
+        usedBytes += edit.estimatedBytes;
+        edits.push(edit);
+        evictOverBudget();
+    }
+
+    private void evictOverBudget() {
+        while (usedBytes > budgetBytes) {
+            // oldest first: the earliest undo, then the furthest redo (which would only be reachable after it)
+            final Edit evicted = undoEdits.isEmpty() ? redoEdits.pollLast() : undoEdits.pollLast();
+            usedBytes -= evicted.estimatedBytes;
+        }
+    }
+
+    /**
+     * The changes made to the model by one action, e.g. one batch.
+     */
+    static class Edit {
+        final List<ListDelta<Person>> personDeltas = new ArrayList<>();
+        final List<ListDelta<ContactGroup>> groupDeltas = new ArrayList<>();
+        final List<ItemUpdate<Person>> personUpdates = new ArrayList<>();
+        final List<ItemUpdate<ContactGroup>> groupUpdates = new ArrayList<>();
+        private boolean isUndone;
+        private long estimatedBytes;
+
+        void addPersonChange(ListChangeListener.Change<? extends Person> change) {
+            addDeltas(personDeltas, change);
+        }
+
+        void addGroupChange(ListChangeListener.Change<? extends ContactGroup> change) {
+            addDeltas(groupDeltas, change);
+        }
+
+        boolean isEmpty() {
+            return personDeltas.isEmpty() && groupDeltas.isEmpty()
+                    && personUpdates.isEmpty() && groupUpdates.isEmpty();
+        }
+
+        /**
+         * Swaps the recorded state with the current one, undoing the edit if it was done and redoing it if
+         * it was undone. Updates are applied through the given functions.
+         */
+        void swap(List<Person> persons, List<ContactGroup> groups,
+                  BiConsumer<Person, Person> updatePerson, BiConsumer<ContactGroup, ContactGroup> updateGroup) {
+            if (isUndone) {
+                groupUpdates.forEach(update -> update.swap(ContactGroup::new, updateGroup));
+                personUpdates.forEach(update -> update.swap(Person::new, updatePerson));
+                groupDeltas.forEach(delta -> delta.swap(groups));
+                personDeltas.forEach(delta -> delta.swap(persons));
+            } else {
+                // list changes are undone last to first, as each is positioned relative to the ones before it
+                for (int i = personDeltas.size() - 1; i >= 0; i--) {
+                    personDeltas.get(i).swap(persons);
+                }
+                for (int i = groupDeltas.size() - 1; i >= 0; i--) {
+                    groupDeltas.get(i).swap(groups);
+                }
+                // groups first, so that restored persons are canonicalized against the group names they had
+                groupUpdates.forEach(update -> update.swap(ContactGroup::new, updateGroup));
+                personUpdates.forEach(update -> update.swap(Person::new, updatePerson));
+            }
+            isUndone = !isUndone;
+        }
+
+        private long estimateBytes() {
+            long bytes = ESTIMATED_DELTA_BYTES;
+            for (ListDelta<Person> delta : personDeltas) {
+                bytes += ESTIMATED_DELTA_BYTES + (long) delta.items.size() * ESTIMATED_ITEM_BYTES;
+            }
+            for (ListDelta<ContactGroup> delta : groupDeltas) {
+                bytes += ESTIMATED_DELTA_BYTES + (long) delta.items.size() * ESTIMATED_ITEM_BYTES;
+            }
+            bytes += (long) (personUpdates.size() + groupUpdates.size())
+                    * (ESTIMATED_DELTA_BYTES + ESTIMATED_ITEM_BYTES);
+            return bytes;
+        }
+
+        private static <E> void addDeltas(List<ListDelta<E>> deltas, ListChangeListener.Change<? extends E> change) {
+            while (change.next()) {
+                if (change.wasPermutated() || change.wasUpdated()) continue;
+                deltas.add(new ListDelta<>(change.getFrom(), new ArrayList<>(change.getRemoved()),
+                                           change.getAddedSize()));
+            }
+        }
+    }
+
+    /**
+     * A change to a range of a list: {@code count} items starting at {@code from} were put in place of
+     * {@code items}, which are kept here. The items put in are still in the list, so need not be kept.
+     */
+    static class ListDelta<E> {
+        private final int from;
+        private List<E> items;
+        private int count;
+
+        ListDelta(int from, List<E> items, int count) {
+            this.from = from;
+            this.items = items;
+            this.count = count;
+        }
+
+        void swap(List<E> list) {
+            final List<E> range = list.subList(from, from + count);
+            final List<E> current = new ArrayList<>(range);
+            range.clear();
+            list.addAll(from, items);
+            count = items.size();
+            items = current;
+        }
+    }
+
+    /**
+     * An update of an item in place, keeping a copy of the item's other state.
+     */
+    static class ItemUpdate<E> {
+        private final E item;
+        private E otherState;
+
+        ItemUpdate(E item, E otherState) {
+            this.item = item;
+            this.otherState = otherState;
+        }
+
+        void swap(UnaryOperator<E> copy, BiConsumer<E, E> update) {
+            final E current = copy.apply(item);
+            update.accept(item, otherState);
+            otherState = current;
+        }
+    }
+}
@@ -9,17 +9,27 @@ import address.events.*;
 import address.exceptions.DuplicateDataException;
 import address.exceptions.DuplicateGroupException;
 import address.exceptions.DuplicatePersonException;
+import address.model.index.PersonIndex;
+import address.model.index.PersonIndexes;
+import address.util.BatchedObservableList;
 import address.util.DataConstraints;
 import address.util.PlatformEx;
 import com.google.common.eventbus.Subscribe;
 
-import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 
+import java.time.LocalDate;
+import java.time.Month;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Represents the in-memory model of the address book data.
@@ -27,15 +37,41 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class ModelManager {
 
-    private final ObservableList<Person> personData = FXCollections.observableArrayList();
+    /** Up to this many persons updated in place are found in the person list one by one when publishing */
+    private static final int FEW_UPDATES = 8;
+
+    private final BatchedObservableList<Person> personData = new BatchedObservableList<>();
     private final FilteredList<Person> filteredPersonData = new FilteredList<>(personData);
-    private final ObservableList<ContactGroup> groupData = FXCollections.observableArrayList();
+    private final SortedPersonList sortedPersonData = new SortedPersonList(filteredPersonData);
+    private final BatchedObservableList<ContactGroup> groupData = new BatchedObservableList<>();
+    private final ContactGroupRegistry groupRegistry = new ContactGroupRegistry();
+    private final PersonIndexes personIndexes = new PersonIndexes();
+    private final FilterEngine filterEngine = new FilterEngine(personData, filteredPersonData, personIndexes,
+                                                               this::getSnapshot);
+    private final BirthdayStatistics birthdayStatistics = new BirthdayStatistics();
+    /** True while a batch is being applied; its list changes are then covered by a single event */
+    private boolean isInBatch;
+    private final ModelHistory history = new ModelHistory(ModelHistory.DEFAULT_BUDGET_BYTES);
+    /** Collects the changes of the batch being applied for the history; null outside batches and when replaying */
+    private ModelHistory.Edit pendingEdit;
+    /** True while an edit is being undone or redone, which is not itself recorded */
+    private boolean isReplayingHistory;
+    private final AtomicReference<ModelSnapshot> latestSnapshot = new AtomicReference<>();
+    /** Changes to the person list since the last published version, to be replayed on that version's persons */
+    private final List<PersonListChange> unpublishedPersonChanges = new ArrayList<>();
+    /** Persons updated in place since the last published version, whose frozen copies must be re-made */
+    private final Set<Person> unpublishedPersonUpdates = Collections.newSetFromMap(new IdentityHashMap<>());
+    /** Frozen copies of the groups for the snapshots, dropped when a group changes and re-made on publishing */
+    private final Map<ContactGroup, ContactGroup> frozenGroups = new IdentityHashMap<>();
 
     /**
      * @param initialPersons Initial persons to populate the model.
      * @param initialGroups Initial groups to populate the model.
      */
     public ModelManager(List<Person> initialPersons, List<ContactGroup> initialGroups) {
+        //Keep group instances shared and the secondary indexes in step with the person data
+        personData.addListener((ListChangeListener<? super Person>) this::updateIndexes);
+
         if (initialPersons == null || initialGroups == null) {
             appendSampleData();
         } else {
@@ -43,20 +79,51 @@ public class ModelManager {
             System.out.println("Persons found : " + initialPersons.size());
             personData.addAll(initialPersons);
             System.out.println("Groups found : " + initialGroups.size());
-            groupData.addAll(initialGroups);
+            groupData.addAll(internGroups(initialGroups));
         }
 
+        //Keep the birthday statistics in step with the persons in view
+        filteredPersonData.forEach(birthdayStatistics::add);
+        filteredPersonData.addListener((ListChangeListener<? super Person>) this::updateBirthdayStatistics);
+
+        //Record changes from here on for undo/redo
+        personData.addListener((ListChangeListener<? super Person>) (change) ->
+                recordChange(edit -> edit.addPersonChange(change)));
+        groupData.addListener((ListChangeListener<? super ContactGroup>) (change) ->
+                recordChange(edit -> edit.addGroupChange(change)));
+
+        //Note the changes to publish in the next version
+        personData.addListener((ListChangeListener<? super Person>) (change) -> {
+                while (change.next()) {
+                    if (change.wasUpdated()) continue; // noted by the updating method
+                    if (change.wasPermutated()) {
+                        final int size = change.getTo() - change.getFrom();
+                        unpublishedPersonChanges.add(new PersonListChange(change.getFrom(), size,
+                                change.getList().subList(change.getFrom(), change.getTo())));
+                    } else {
+                        unpublishedPersonChanges.add(new PersonListChange(change.getFrom(), change.getRemovedSize(),
+                                                                          change.getAddedSubList()));
+                    }
+                }
+            });
+        groupData.addListener((ListChangeListener<? super ContactGroup>) (change) -> {
+                while (change.next()) {
+                    change.getRemoved().forEach(frozenGroups::remove);
+                }
+            });
+
+        //Unregister deleted groups, so that the registry does not grow with groups that come and go
+        groupData.addListener((ListChangeListener<? super ContactGroup>) this::updateGroupRegistry);
+
         //Listen to any changed to person data and raise an event
         //Note: this will not catch edits to Person objects
-        personData.addListener(
-                (ListChangeListener<? super Person>) (change) ->
-                        EventManager.getInstance().post(new LocalModelChangedEvent(personData, groupData)));
+        personData.addListener((ListChangeListener<? super Person>) (change) -> raiseChangedEventUnlessInBatch());
 
         //Listen to any changed to group data and raise an event
         //Note: this will not catch edits to ContactGroup objects
-        groupData.addListener(
-                (ListChangeListener<? super ContactGroup>) (change) ->
-                        EventManager.getInstance().post(new LocalModelChangedEvent(personData, groupData)));
+        groupData.addListener((ListChangeListener<? super ContactGroup>) (change) -> raiseChangedEventUnlessInBatch());
+
+        publishSnapshot();
 
         //Register for general events relevant to data manager
         EventManager.getInstance().registerHandler(this);
@@ -84,8 +151,11 @@ public class ModelManager {
             new ContactGroup("friends")
         };
 
-        personData.addAll(samplePersonData);
-        groupData.addAll(sampleGroupData);
+        runBatch(() -> {
+                personData.addAll(samplePersonData);
+                groupData.addAll(internGroups(Arrays.asList(sampleGroupData)));
+                return true;
+            });
     }
 
     /**
@@ -93,8 +163,12 @@ public class ModelManager {
      * @param newPeople
      */
     public synchronized void resetData(List<Person> newPeople, List<ContactGroup> newGroups) {
-        personData.setAll(newPeople);
-        groupData.setAll(newGroups);
+        runBatch(() -> {
+                personData.setAll(newPeople);
+                groupData.setAll(internGroups(newGroups));
+                return true;
+            });
+        history.clear();
     }
 
     public void resetData(AddressBookWrapper newData) {
@@ -138,7 +212,7 @@ public class ModelManager {
         if (groupData.contains(groupToAdd)) {
             throw new DuplicateGroupException(groupToAdd);
         }
-        groupData.add(groupToAdd);
+        groupData.add(groupRegistry.intern(groupToAdd));
     }
 
     /**
@@ -150,7 +224,7 @@ public class ModelManager {
         if (!DataConstraints.canCombineWithoutDuplicates(groupData, toAdd)) {
             throw new DuplicateDataException("Adding these " + toAdd.size() + " new contact groups");
         }
-        groupData.addAll(toAdd);
+        groupData.addAll(internGroups(toAdd));
     }
 
     ///////////////////////////////////////////////////////////////////////
@@ -171,6 +245,13 @@ public class ModelManager {
         return filteredPersonData;
     }
 
+    /**
+     * @return the persons in view, in the chosen sort order; empty while unsorted
+     */
+    public SortedPersonList getSortedPersons() {
+        return sortedPersonData;
+    }
+
     /**
      * @return observablelist of groups in model
      */
@@ -178,6 +259,65 @@ public class ModelManager {
         return groupData;
     }
 
+    /**
+     * @return secondary indexes over the persons in the model
+     */
+    public PersonIndexes getPersonIndexes() {
+        return personIndexes;
+    }
+
+    /**
+     * @return the person with the given stable id
+     */
+    public Optional<Person> getPersonById(long id) {
+        return personIndexes.byId().get(id);
+    }
+
+    /**
+     * @return persons belonging to the group (by name), in O(members)
+     */
+    public Set<Person> getGroupMembers(ContactGroup group) {
+        return groupRegistry.find(group.getName())
+                .map(personIndexes.byGroupMembership()::getMembers)
+                .orElse(Collections.emptySet());
+    }
+
+    /**
+     * @return up to count persons, in the order of their next birthday from today on, in O(count + log n)
+     */
+    public List<Person> getNextBirthdays(int count) {
+        return personIndexes.byUpcomingBirthday().next(LocalDate.now(), count);
+    }
+
+    /**
+     * Adds a secondary index, populating it with the current persons.
+     * The index will be kept up to date with all subsequent changes to the model.
+     * @param name unique name of the index
+     */
+    public synchronized void registerIndex(String name, PersonIndex index) {
+        personData.forEach(index::add);
+        personIndexes.register(name, index);
+    }
+
+    /**
+     * @return number of persons in the active filtered view having their birthday in each month,
+     *         starting from January
+     */
+    public int[] getBirthdayMonthCounts() {
+        final int[] monthCounts = new int[Month.values().length];
+        for (Month month : Month.values()) {
+            monthCounts[month.ordinal()] = birthdayStatistics.getMonthCount(month);
+        }
+        return monthCounts;
+    }
+
+    /**
+     * @return live birthday counts of the persons in the active filtered view
+     */
+    public BirthdayStatistics getBirthdayStatistics() {
+        return birthdayStatistics;
+    }
+
     ///////////////////////////////////////////////////////////////////////
     // UPDATE
     ///////////////////////////////////////////////////////////////////////
@@ -193,8 +333,10 @@ public class ModelManager {
         if (!original.equals(updated) && personData.contains(updated)) {
             throw new DuplicatePersonException(updated);
         }
-        original.update(updated);
-        EventManager.getInstance().post(new LocalModelChangedEvent(personData, groupData));
+        runBatch(() -> {
+                applyPersonUpdate(original, updated);
+                return true;
+            });
     }
 
     /**
@@ -209,8 +351,50 @@ public class ModelManager {
         if (!original.equals(updated) && groupData.contains(updated)) {
             throw new DuplicateGroupException(updated);
         }
+        runBatch(() -> {
+                applyGroupUpdate(original, updated);
+                return true;
+            });
+    }
+
+    private void applyPersonUpdate(Person original, Person updated) {
+        if (pendingEdit != null) {
+            pendingEdit.personUpdates.add(new ModelHistory.ItemUpdate<>(original, new Person(original)));
+        }
+        unpublishedPersonUpdates.add(original);
+        original.update(updated);
+        groupRegistry.canonicalize(original);
+        personIndexes.update(original);
+        birthdayStatistics.update(original);
+        sortedPersonData.update(original);
+        personData.update(original); // for the filtered list to test it again
+    }
+
+    /**
+     * As the group instance is shared by its members, a rename is seen by all of them.
+     */
+    private void applyGroupUpdate(ContactGroup original, ContactGroup updated) {
+        if (pendingEdit != null) {
+            pendingEdit.groupUpdates.add(new ModelHistory.ItemUpdate<>(original, new ContactGroup(original)));
+        }
+        final String oldName = original.getName();
+        final Set<Person> members = personIndexes.byGroupMembership().getMembers(original);
         original.update(updated);
-        EventManager.getInstance().post(new LocalModelChangedEvent(personData, groupData));
+        frozenGroups.remove(original);
+        groupRegistry.rename(original, oldName).ifPresent(displaced -> {
+                // another instance by the new name was in use outside the group list; merge its members in
+                final Set<Person> displacedMembers = personIndexes.byGroupMembership().getMembers(displaced);
+                displacedMembers.forEach(person -> {
+                        if (pendingEdit != null) {
+                            pendingEdit.personUpdates.add(new ModelHistory.ItemUpdate<>(person, new Person(person)));
+                        }
+                        person.replaceContactGroups(group -> group == displaced ? original : group);
+                    });
+                members.addAll(displacedMembers);
+            });
+        members.forEach(personIndexes::update);
+        members.forEach(personData::update); // a filter may match on the group name
+        unpublishedPersonUpdates.addAll(members); // their frozen copies refer to the old frozen group
     }
 
     ///////////////////////////////////////////////////////////////////////
@@ -236,21 +420,365 @@ public class ModelManager {
     }
 
     /**
-     * Deletes the group from the model.
+     * Deletes the group from the model, and from its members.
      * @param groupToDelete
      * @return true if there was a successful removal
      */
     public synchronized boolean deleteGroup(ContactGroup groupToDelete){
-        return groupData.remove(groupToDelete);
+        return deleteGroups(Collections.singleton(groupToDelete));
     }
 
     /**
-     * Deletes multiple persons from the model as an atomic action (triggers only 1 ModelChangedEvent)
+     * Deletes multiple groups from the model, and from their members,
+     * as an atomic action (triggers only 1 ModelChangedEvent)
      * @param toDelete
      * @return true if there was at least one successful removal
      */
     public synchronized boolean deleteGroups(Collection<ContactGroup> toDelete) {
-        return groupData.removeAll(new HashSet<>(toDelete)); // O(1) .contains boosts performance
+        final Set<ContactGroup> groupsToRemove = findMatchingItems(groupData, new HashSet<>(toDelete));
+        if (groupsToRemove.isEmpty()) return false;
+        runBatch(() -> {
+                removeFromMembers(groupsToRemove);
+                return groupData.removeAll(groupsToRemove);
+            });
+        return true;
+    }
+
+    /**
+     * Takes the groups off the persons holding them, as updates of those persons,
+     * so that no person is left in a group that is no longer in the model.
+     *
+     * @param groups the group instances to be removed, in an identity set
+     */
+    private void removeFromMembers(Set<ContactGroup> groups) {
+        final Set<Person> members = Collections.newSetFromMap(new IdentityHashMap<>());
+        groups.forEach(group -> members.addAll(personIndexes.byGroupMembership().getMembers(group)));
+        members.forEach(member -> {
+                final List<ContactGroup> remainingGroups = member.getContactGroupsCopy();
+                remainingGroups.removeIf(groups::contains);
+                final Person updated = new Person(member);
+                updated.setContactGroups(remainingGroups);
+                applyPersonUpdate(member, updated);
+            });
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // TRANSACTIONS
+    ///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Applies the changes recorded by {@code changes} as one atomic action. They are validated together,
+     * each list notifies its listeners of a single change, and only 1 ModelChangedEvent is raised.
+     *
+     * Updates are applied first, then deletions (matched against the items as they were before the updates),
+     * then additions.
+     *
+     * @param changes records the changes on the given transaction
+     * @throws DuplicateDataException when the changes together would cause duplicates.
+     *     None of them are applied in that case.
+     */
+    public synchronized void transaction(Consumer<ModelTransaction> changes) throws DuplicateDataException {
+        final ModelTransaction transaction = new ModelTransaction();
+        changes.accept(transaction);
+
+        final Set<Person> personsToRemove = findMatchingItems(personData, transaction.personsToDelete);
+        final Set<ContactGroup> groupsToRemove = findMatchingItems(groupData, transaction.groupsToDelete);
+        if (!DataConstraints.itemsAreUnique(getResultingItems(personData, transaction.personUpdates,
+                                                              personsToRemove, transaction.personsToAdd))
+                || !DataConstraints.itemsAreUnique(getResultingItems(groupData, transaction.groupUpdates,
+                                                                     groupsToRemove, transaction.groupsToAdd))) {
+            throw new DuplicateDataException("Applying this " + transaction);
+        }
+
+        runBatch(() -> {
+                boolean changed = !transaction.personUpdates.isEmpty() || !transaction.groupUpdates.isEmpty();
+                transaction.groupUpdates.forEach(this::applyGroupUpdate);
+                transaction.personUpdates.forEach(this::applyPersonUpdate);
+                removeFromMembers(groupsToRemove);
+                changed |= groupData.removeAll(groupsToRemove);
+                changed |= groupData.addAll(internGroups(transaction.groupsToAdd));
+                changed |= personData.removeAll(personsToRemove);
+                changed |= personData.addAll(transaction.personsToAdd);
+                return changed;
+            });
+    }
+
+    /**
+     * Makes changes to the lists with their listeners notified of a single change per list,
+     * and raises a single ModelChangedEvent if there were changes.
+     *
+     * @param changes makes the changes, returning true if there were any
+     */
+    private void runBatch(BooleanSupplier changes) {
+        final AtomicBoolean changed = new AtomicBoolean(false);
+        final ModelHistory.Edit edit = isReplayingHistory ? null : new ModelHistory.Edit();
+        isInBatch = true;
+        pendingEdit = edit;
+        try {
+            personData.batch(() -> groupData.batch(() -> changed.set(changes.getAsBoolean())));
+        } finally {
+            isInBatch = false;
+            pendingEdit = null;
+        }
+        if (edit != null && !edit.isEmpty()) {
+            history.record(edit);
+        }
+        if (changed.get()) {
+            raiseChangedEvent();
+        }
+    }
+
+    private void raiseChangedEventUnlessInBatch() {
+        if (!isInBatch) {
+            raiseChangedEvent();
+        }
+    }
+
+    /**
+     * Publishes the data as a new version, and raises a LocalModelChangedEvent carrying that version's data.
+     */
+    private void raiseChangedEvent() {
+        final ModelSnapshot snapshot = publishSnapshot();
+        EventManager.getInstance().post(new LocalModelChangedEvent(snapshot.getPersons(), snapshot.getGroups()));
+    }
+
+    /**
+     * Unregisters the groups removed from the group list, and re-registers the ones added back, e.g. by an undo.
+     * Groups that are removed and added in the same change, as when the data is reset, stay registered.
+     */
+    private void updateGroupRegistry(ListChangeListener.Change<? extends ContactGroup> change) {
+        final List<ContactGroup> removed = new ArrayList<>();
+        final Set<ContactGroup> added = Collections.newSetFromMap(new IdentityHashMap<>());
+        while (change.next()) {
+            removed.addAll(change.getRemoved());
+            added.addAll(change.getAddedSubList());
+        }
+        removed.stream()
+                .filter(group -> !added.contains(group))
+                .forEach(groupRegistry::remove);
+        added.forEach(groupRegistry::intern);
+    }
+
+    /**
+     * @return the items (by identity) that are equal to any of toFind
+     */
+    private static <E> Set<E> findMatchingItems(List<E> items, Set<E> toFind) {
+        final Set<E> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (!toFind.isEmpty()) {
+            items.stream().filter(toFind::contains).forEach(found::add);
+        }
+        return found;
+    }
+
+    /**
+     * @return the items as they would be after applying the updates, removals and additions
+     */
+    private static <E extends DataType> List<E> getResultingItems(List<E> items, Map<E, E> updates,
+                                                                  Set<E> toRemove, List<E> toAdd) {
+        final List<E> result = new ArrayList<>(items.size() + toAdd.size());
+        for (E item : items) {
+            if (!toRemove.contains(item)) {
+                result.add(updates.getOrDefault(item, item));
+            }
+        }
+        result.addAll(toAdd);
+        return result;
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // VERSIONS
+    ///////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the latest published version of the data. Can be called from any thread without locking,
+     *     and stays consistent while the model changes.
+     */
+    public ModelSnapshot getSnapshot() {
+        return latestSnapshot.get();
+    }
+
+    /**
+     * Publishes the current data as a new version.
+     *
+     * The persons of the last version are reused: the changes to the person list since then are replayed on
+     * them, and only the persons added or updated get new frozen copies. Unchanged persons are neither copied
+     * nor looked up, so a version holds the only frozen copies, which are reclaimed once no version refers
+     * to them.
+     */
+    private ModelSnapshot publishSnapshot() {
+        final ModelSnapshot previous = latestSnapshot.get();
+        final List<Person> persons;
+        if (previous == null) {
+            persons = new ArrayList<>(personData.size());
+            personData.forEach(person -> persons.add(freeze(person)));
+        } else {
+            persons = new ArrayList<>(previous.getPersons());
+            unpublishedPersonChanges.forEach(change -> change.replayFrozen(persons, this::freeze));
+            refreezeUpdatedPersons(persons);
+        }
+        unpublishedPersonChanges.clear();
+        unpublishedPersonUpdates.clear();
+
+        final List<ContactGroup> groups = new ArrayList<>(groupData.size());
+        groupData.forEach(group -> groups.add(getFrozenGroup(group)));
+        final ModelSnapshot snapshot = new ModelSnapshot(previous == null ? 1 : previous.getVersion() + 1,
+                                                         persons, groups);
+        latestSnapshot.set(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Replaces the frozen copies of the persons updated in place, in frozen persons aligned with the person list.
+     * A few are found by comparing references; many by a single pass over the list.
+     */
+    private void refreezeUpdatedPersons(List<Person> persons) {
+        if (unpublishedPersonUpdates.size() > FEW_UPDATES) {
+            for (int i = 0; i < personData.size(); i++) {
+                if (unpublishedPersonUpdates.contains(personData.get(i))) {
+                    persons.set(i, freeze(personData.get(i)));
+                }
+            }
+            return;
+        }
+        for (Person updated : unpublishedPersonUpdates) {
+            for (int i = 0; i < personData.size(); i++) {
+                if (personData.get(i) == updated) {
+                    persons.set(i, freeze(updated));
+                    break;
+                }
+            }
+        }
+    }
+
+    private Person freeze(Person person) {
+        final Person frozen = new Person(person);
+        frozen.replaceContactGroups(this::getFrozenGroup);
+        return frozen;
+    }
+
+    private ContactGroup getFrozenGroup(ContactGroup group) {
+        return frozenGroups.computeIfAbsent(group, ContactGroup::new);
+    }
+
+    /**
+     * A change to the person list, to be replayed on the frozen persons of the last published version.
+     */
+    private static class PersonListChange {
+        private final int from;
+        private final int removedSize;
+        private final List<Person> added;
+
+        PersonListChange(int from, int removedSize, List<? extends Person> added) {
+            this.from = from;
+            this.removedSize = removedSize;
+            this.added = new ArrayList<>(added);
+        }
+
+        void replayFrozen(List<Person> frozenPersons, Function<Person, Person> freeze) {
+            frozenPersons.subList(from, from + removedSize).clear();
+            frozenPersons.addAll(from, added.stream().map(freeze).collect(Collectors.toList()));
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // UNDO/REDO
+    ///////////////////////////////////////////////////////////////////////
+
+    /**
+     * Undoes the latest change to the model, applying it as a single batch.
+     * @return false if there was nothing to undo
+     */
+    public synchronized boolean undo() {
+        return history.undo(this::replay);
+    }
+
+    /**
+     * Redoes the latest undone change to the model, applying it as a single batch.
+     * @return false if there was nothing to redo
+     */
+    public synchronized boolean redo() {
+        return history.redo(this::replay);
+    }
+
+    public ModelHistory getHistory() {
+        return history;
+    }
+
+    private void replay(ModelHistory.Edit edit) {
+        isReplayingHistory = true;
+        try {
+            runBatch(() -> {
+                    edit.swap(personData, groupData, this::applyPersonUpdate, this::applyGroupUpdate);
+                    return true;
+                });
+        } finally {
+            isReplayingHistory = false;
+        }
+    }
+
+    /**
+     * Records a list change as part of the batch being applied, or as an edit by itself outside of batches.
+     */
+    private void recordChange(Consumer<ModelHistory.Edit> recorder) {
+        if (isReplayingHistory) return;
+        if (pendingEdit != null) {
+            recorder.accept(pendingEdit);
+            return;
+        }
+        final ModelHistory.Edit edit = new ModelHistory.Edit();
+        recorder.accept(edit);
+        if (!edit.isEmpty()) {
+            history.record(edit);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // INDEX MAINTENANCE
+    ///////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the canonical instances of the groups
+     */
+    private List<ContactGroup> internGroups(Collection<ContactGroup> groups) {
+        final List<ContactGroup> canonicalGroups = new ArrayList<>(groups.size());
+        groups.forEach(group -> canonicalGroups.add(groupRegistry.intern(group)));
+        return canonicalGroups;
+    }
+
+    /**
+     * Gives the person a fresh id if it has none, or if its id is already taken by another person in the model
+     * (e.g. a record copied within the file).
+     */
+    private void assignIdIfMissing(Person person) {
+        while (person.getId() == 0
+                || personIndexes.byId().get(person.getId()).filter(other -> other != person).isPresent()) {
+            person.setId(ThreadLocalRandom.current().nextLong());
+        }
+    }
+
+    private void updateIndexes(ListChangeListener.Change<? extends Person> change) {
+        while (change.next()) {
+            // updated persons are re-indexed as they are updated, so that the batch sees the new entries
+            if (change.wasPermutated() || change.wasUpdated()) continue;
+            change.getRemoved().forEach(personIndexes::remove);
+            change.getAddedSubList().forEach(person -> {
+                    assignIdIfMissing(person);
+                    groupRegistry.canonicalize(person);
+                    personIndexes.add(person);
+                });
+        }
+    }
+
+    private void updateBirthdayStatistics(ListChangeListener.Change<? extends Person> change) {
+        while (change.next()) {
+            if (change.wasPermutated()) continue;
+            if (change.wasUpdated()) {
+                change.getList().subList(change.getFrom(), change.getTo()).forEach(birthdayStatistics::update);
+                continue;
+            }
+            change.getRemoved().forEach(birthdayStatistics::remove);
+            change.getAddedSubList().forEach(birthdayStatistics::add);
+        }
     }
 
     ///////////////////////////////////////////////////////////////////////
@@ -259,14 +787,16 @@ public class ModelManager {
 
     @Subscribe
     private void handleFilterCommittedEvent(FilterCommittedEvent fce) {
-        filteredPersonData.setPredicate(fce.filterExpression::satisfies);
+        filterEngine.submit(fce.filterExpression);
     }
 
     @Subscribe
     private void handleNewMirrorDataEvent(NewMirrorDataEvent nde){
         // NewMirrorDataEvent is created from outside FX Application thread
         PlatformEx.runLaterAndWait(() -> updateUsingExternalData(nde.data));
-        EventManager.getInstance().post(new LocalModelSyncedFromCloudEvent(personData, groupData));
+        final ModelSnapshot snapshot = getSnapshot();
+        EventManager.getInstance().post(new LocalModelSyncedFromCloudEvent(snapshot.getPersons(),
+                                                                           snapshot.getGroups()));
     }
 
     ///////////////////////////////////////////////////////////////////////
@@ -279,18 +809,28 @@ public class ModelManager {
      */
     public synchronized void updateUsingExternalData(AddressBookWrapper extData) {
         assert !extData.containsDuplicates() : "Duplicates are not allowed in an AddressBookWrapper";
-        boolean changed = false;
-        changed = diffUpdate(personData, extData.getPersons());
-        changed = changed || diffUpdate(groupData, extData.getGroups());
-        if (changed) {
-            EventManager.getInstance().post(new LocalModelChangedEvent(personData, groupData));
-        }
+        runBatch(() -> {
+                final boolean personsChanged = diffUpdate(personData, extData.getPersons(), ModelManager::getIdOf);
+                final boolean groupsChanged = diffUpdate(groupData, internGroups(extData.getGroups()),
+                                                         group -> null);
+                return personsChanged || groupsChanged;
+            });
+    }
+
+    /**
+     * @return the stable id of the person, or null if it has none
+     */
+    private static Object getIdOf(Person person) {
+        return person.getId() == 0 ? null : person.getId();
     }
 
     /**
      * Performs a diff-update (minimal change) on target using newData.
      * Arguments newData and target should contain no duplicates.
      *
+     * Items are matched by id where they have one, so a renamed item is updated rather than replaced.
+     * An item without an id in newData is matched by .equals to a target item not matched by id.
+     *
      * Does NOT trigger any events.
      *
      * Specification:
@@ -306,29 +846,50 @@ public class ModelManager {
      *
      * @param target collection of data items to be updated
      * @param newData target will be updated to match newData's state
+     * @param idOf gives the id of an item, or null if it has none
      * @return true if there were changes from the update.
      */
-    private synchronized <E extends DataType> boolean diffUpdate(Collection<E> target, Collection<E> newData) {
+    private synchronized <E extends DataType> boolean diffUpdate(Collection<E> target, Collection<E> newData,
+                                                                 Function<E, Object> idOf) {
         assert DataConstraints.itemsAreUnique(target) : "target of diffUpdate should not have duplicates";
         assert DataConstraints.itemsAreUnique(newData) : "newData for diffUpdate should not have duplicates";
 
-        final Map<E, E> remaining = new HashMap<>(); // has to be map; sets do not allow specific retrieval
-        newData.forEach((item) -> remaining.put(item, item));
-
-        final Set<E> toBeRemoved = new HashSet<>();
+        final Map<Object, E> remainingById = new HashMap<>();
+        final Map<E, E> remainingWithoutId = new HashMap<>(); // has to be map; sets do not allow specific retrieval
+        newData.forEach(item -> {
+                final Object id = idOf.apply(item);
+                if (id == null) {
+                    remainingWithoutId.put(item, item);
+                } else {
+                    remainingById.put(id, item);
+                }
+            });
+
+        // identity-based, as renames can make a removed item equal to an updated one
+        final Set<E> toBeRemoved = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<E> matched = Collections.newSetFromMap(new IdentityHashMap<>());
         final AtomicBoolean changed = new AtomicBoolean(false);
         target.forEach(oldItem -> {
-            final E newItem = remaining.remove(oldItem); // find matching item in unconsidered new data
-            if (newItem == null) { // not in newData
-                toBeRemoved.add(oldItem);
-            } else { // exists in both new and old, update.
-                updateDataItem(oldItem, newItem); // updates the items in target (reference points back to target)
-                changed.set(true);
-            }
-        });
-        final Set<E> toBeAdded = remaining.keySet();
-
-        // .removeAll time complexity: O(n * complexity of argument's .contains call). Use a HashSet for O(n) time.
+                final Object id = idOf.apply(oldItem);
+                E newItem = id == null ? null : remainingById.remove(id);
+                if (newItem == null) {
+                    newItem = remainingWithoutId.remove(oldItem); // find matching item in unconsidered new data
+                }
+                if (newItem == null) { // not in newData
+                    toBeRemoved.add(oldItem);
+                } else { // exists in both new and old, update.
+                    // updates the items in target (reference points back to target)
+                    if (updateDataItem(oldItem, newItem)) {
+                        changed.set(true);
+                    }
+                    matched.add(newItem);
+                }
+            });
+        final List<E> toBeAdded = newData.stream()
+                .filter(item -> !matched.contains(item))
+                .collect(Collectors.toList());
+
+        // removeAll calls toBeRemoved.contains once per item; being an identity set, that is O(1) per call
         target.removeAll(toBeRemoved);
         target.addAll(toBeAdded);
 
@@ -339,21 +900,25 @@ public class ModelManager {
      * Allows generic DataType .update() calling without having to know which class it is.
      * Because java does not allow self-referential generic type parameters.
      *
-     * Does not trigger any events.
+     * Does not trigger any events. A person whose details are unchanged is left as it is.
      *
      * @param target to be updated
      * @param newData data used for update
+     * @return true if target was changed
      */
-    private <E extends DataType> void updateDataItem(E target, E newData) {
+    private <E extends DataType> boolean updateDataItem(E target, E newData) {
         if (target instanceof Person && newData instanceof Person) {
-            ((Person) target).update((Person) newData);
-            return;
+            if (((Person) target).hasSameDetails((Person) newData)) return false;
+            applyPersonUpdate((Person) target, (Person) newData);
+            return true;
         }
         if (target instanceof ContactGroup && newData instanceof ContactGroup) {
+            // matched by name, so the update changes nothing
             ((ContactGroup) target).update((ContactGroup) newData);
-            return;
+            return false;
         }
         assert false : "need to add logic for any new DataType classes";
+        return false;
     }
 
 }
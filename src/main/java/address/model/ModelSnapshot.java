@@ -0,0 +1,46 @@
+package address.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable version of the model's data, for reading off the FX Application Thread without locking.
+ *
+ * The persons and groups are frozen copies of the model's, made when the version was published. Copies of items
+ * that did not change are shared with the versions before and after, so publishing a version only copies
+ * the changed items. A version is reclaimed by the garbage collector once no reader holds it.
+ * The copies must not be modified.
+ */
+public class ModelSnapshot {
+
+    private final long version;
+    private final List<Person> persons;
+    private final List<ContactGroup> groups;
+
+    ModelSnapshot(long version, List<Person> persons, List<ContactGroup> groups) {
+        this.version = version;
+        this.persons = Collections.unmodifiableList(persons);
+        this.groups = Collections.unmodifiableList(groups);
+    }
+
+    /**
+     * @return the number of this version; later versions have larger numbers
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Person> getPersons() {
+        return persons;
+    }
+
+    public List<ContactGroup> getGroups() {
+        return groups;
+    }
+
+    @Override
+    public String toString() {
+        return "Model version " + version + " : number of persons " + persons.size()
+                + ", number of groups " + groups.size();
+    }
+}
@@ -0,0 +1,98 @@
+package address.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A batch of changes to the model, recorded here and applied together by {@link ModelManager#transaction}.
+ *
+ * Updates take the model's own instances as originals. Deletions match model items by .equals, as in
+ * {@link ModelManager#deletePersons}.
+ */
+public class ModelTransaction {
+
+    final List<Person> personsToAdd = new ArrayList<>();
+    final Map<Person, Person> personUpdates = new IdentityHashMap<>();
+    final Set<Person> personsToDelete = new HashSet<>();
+    final List<ContactGroup> groupsToAdd = new ArrayList<>();
+    final Map<ContactGroup, ContactGroup> groupUpdates = new IdentityHashMap<>();
+    final Set<ContactGroup> groupsToDelete = new HashSet<>();
+
+    public ModelTransaction addPerson(Person person) {
+        personsToAdd.add(person);
+        return this;
+    }
+
+    public ModelTransaction addPersons(Collection<Person> persons) {
+        personsToAdd.addAll(persons);
+        return this;
+    }
+
+    /**
+     * @param original the person in the model to be changed
+     * @param updated the temporary person containing the new values
+     */
+    public ModelTransaction updatePerson(Person original, Person updated) {
+        personUpdates.put(original, updated);
+        return this;
+    }
+
+    public ModelTransaction deletePerson(Person person) {
+        personsToDelete.add(person);
+        return this;
+    }
+
+    public ModelTransaction deletePersons(Collection<Person> persons) {
+        personsToDelete.addAll(persons);
+        return this;
+    }
+
+    public ModelTransaction addGroup(ContactGroup group) {
+        groupsToAdd.add(group);
+        return this;
+    }
+
+    public ModelTransaction addGroups(Collection<ContactGroup> groups) {
+        groupsToAdd.addAll(groups);
+        return this;
+    }
+
+    /**
+     * @param original the group in the model to be changed
+     * @param updated the temporary group containing the new values
+     */
+    public ModelTransaction updateGroup(ContactGroup original, ContactGroup updated) {
+        groupUpdates.put(original, updated);
+        return this;
+    }
+
+    public ModelTransaction deleteGroup(ContactGroup group) {
+        groupsToDelete.add(group);
+        return this;
+    }
+
+    public ModelTransaction deleteGroups(Collection<ContactGroup> groups) {
+        groupsToDelete.addAll(groups);
+        return this;
+    }
+
+    /**
+     * @return true if no changes have been recorded
+     */
+    public boolean isEmpty() {
+        return personsToAdd.isEmpty() && personUpdates.isEmpty() && personsToDelete.isEmpty()
+                && groupsToAdd.isEmpty() && groupUpdates.isEmpty() && groupsToDelete.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "transaction adding " + personsToAdd.size() + " persons and " + groupsToAdd.size() + " groups, "
+                + "updating " + personUpdates.size() + " persons and " + groupUpdates.size() + " groups, "
+                + "deleting " + personsToDelete.size() + " persons and " + groupsToDelete.size() + " groups";
+    }
+}
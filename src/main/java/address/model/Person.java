@@ -2,8 +2,11 @@ package address.model;
 
 import address.util.LocalDateAdapter;
 import address.util.LocalDateTimeAdapter;
+import address.util.StringDictionary;
 
 import javafx.beans.property.*;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 import java.net.MalformedURLException;
@@ -11,7 +14,10 @@ import java.net.URL;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
 
 /**
  * Model class for a Person.
@@ -20,47 +26,69 @@ import java.util.List;
  */
 public class Person extends DataType {
 
-    private final StringProperty firstName;
-    private final StringProperty lastName;
-    private final StringProperty street;
-    private final IntegerProperty postalCode;
-    private final StringProperty city;
-    private final ObjectProperty<LocalDate> birthday;
+    private static final LocalDate DEFAULT_BIRTHDAY = LocalDate.of(1999, 2, 21);
+    private static final URL DEFAULT_WEB_PAGE_URL = createDefaultWebPageUrl();
+
+    /** Stable identifier, unique within an address book. 0 until assigned by the model */
+    private long id;
+
+    // Values are kept in plain fields, which the getters read. The JavaFX property for a field is only created
+    // when it is first asked for (e.g. by a UI binding), after which the field is set through the property and
+    // kept in step with it. So a getter never reads the property, and never sees a value that is not there.
+    private String firstName;
+    private String lastName;
+    private String street;
+    private int postalCode;
+    private String city;
+    private LocalDate birthday;
     private URL webPageUrl;
-    private ObjectProperty<LocalDateTime> updatedAt;
-    private final List<ContactGroup> contactGroups;
+    private LocalDateTime updatedAt;
+    /** Unmodifiable and empty until groups are set */
+    private List<ContactGroup> contactGroups;
+
+    private StringProperty firstNameProperty;
+    private StringProperty lastNameProperty;
+    private StringProperty streetProperty;
+    private IntegerProperty postalCodeProperty;
+    private StringProperty cityProperty;
+    private ObjectProperty<LocalDate> birthdayProperty;
+    private ObjectProperty<LocalDateTime> updatedAtProperty;
+    private ObservableList<ContactGroup> observableContactGroups;
+    private ObservableList<ContactGroup> readOnlyContactGroups;
+
+    /** Cached hash code of the name; 0 until computed and whenever the name changes */
+    private int hash;
 
     /**
-     * Default constructor.
+     * Creates a person with an empty name and no other details, e.g. for the XML loader to fill in.
+     * Only the web page has a default, a shared instance.
      */
     public Person() {
-        this("", "");
+        this.firstName = "";
+        this.lastName = "";
+        this.contactGroups = Collections.emptyList();
+        this.webPageUrl = DEFAULT_WEB_PAGE_URL;
     }
 
     /**
-     * Constructor with some initial data.
+     * Constructor with some initial dummy data, for sample data, tests and the placeholders of a new person.
      * 
      * @param firstName
      * @param lastName
      */
     public Person(String firstName, String lastName) {
-        this.firstName = new SimpleStringProperty(firstName);
-        this.lastName = new SimpleStringProperty(lastName);
+        this.firstName = firstName;
+        this.lastName = lastName;
 
         // Some initial dummy data, just for convenient testing.
-        this.street = new SimpleStringProperty("some street");
-        this.postalCode = new SimpleIntegerProperty(1234);
-        this.city = new SimpleStringProperty("some city");
-        this.birthday = new SimpleObjectProperty<>(LocalDate.of(1999, 2, 21));
-        this.contactGroups = new ArrayList<>();
+        this.street = "some street";
+        this.postalCode = 1234;
+        this.city = "some city";
+        this.birthday = DEFAULT_BIRTHDAY;
+        this.contactGroups = new ArrayList<>(1);
         contactGroups.add(new ContactGroup("friends"));
-        this.updatedAt = new SimpleObjectProperty<>(LocalDateTime.now());
-        try {
-            this.webPageUrl = new URL("https://www.github.com");
-        } catch (MalformedURLException e) {
-            assert false : "Error parsing a parsable URL";
-        }
-
+        this.updatedAt = LocalDateTime.now();
+        this.webPageUrl = DEFAULT_WEB_PAGE_URL;
     }
 
     /**
@@ -68,25 +96,33 @@ public class Person extends DataType {
      * @param person
      */
     public Person(Person person) {
-        this.firstName = new SimpleStringProperty(person.getFirstName());
-        this.lastName = new SimpleStringProperty(person.getLastName());
-
-        this.street = new SimpleStringProperty(person.getStreet());
-        this.postalCode = new SimpleIntegerProperty(person.getPostalCode());
-        this.city = new SimpleStringProperty(person.getCity());
-        this.birthday = new SimpleObjectProperty<>(person.getBirthday());
-        this.contactGroups = new ArrayList<>(person.getContactGroupsCopy());
-        this.updatedAt = new SimpleObjectProperty<>(person.getUpdatedAt());
+        this.id = person.getId();
+        this.firstName = person.getFirstName();
+        this.lastName = person.getLastName();
+
+        this.street = person.getStreet();
+        this.postalCode = person.getPostalCode();
+        this.city = person.getCity();
+        this.birthday = person.getBirthday();
+        this.contactGroups = person.getContactGroupsCopy();
+        this.updatedAt = person.getUpdatedAt();
         this.webPageUrl = person.getWebPageUrl();
     }
 
+    private static URL createDefaultWebPageUrl() {
+        try {
+            return new URL("https://www.github.com");
+        } catch (MalformedURLException e) {
+            assert false : "Error parsing a parsable URL";
+            return null;
+        }
+    }
+
     /**
      * @return a deep copy of the contactGroups
      */
     public List<ContactGroup> getContactGroupsCopy() {
-        final List<ContactGroup> copy = new ArrayList<>();
-        contactGroups.forEach((cg)->copy.add(cg));
-        return copy;
+        return new ArrayList<>(contactGroups);
     }
 
     /**
@@ -94,27 +130,129 @@ public class Person extends DataType {
      * @param contactGroups
      */
     public void setContactGroups(List<ContactGroup> contactGroups) {
-        this.contactGroups.clear();
-        this.contactGroups.addAll(contactGroups);
-        updatedAt.set(LocalDateTime.now());
+        if (observableContactGroups == null) {
+            this.contactGroups = new ArrayList<>(contactGroups);
+        } else {
+            observableContactGroups.setAll(contactGroups);
+        }
+        setUpdatedAt(LocalDateTime.now());
+    }
+
+    /**
+     * @return a read-only live view of the contact groups, for observing changes to them
+     */
+    public ObservableList<ContactGroup> contactGroupsProperty() {
+        if (readOnlyContactGroups == null) {
+            contactGroups = new ArrayList<>(contactGroups);
+            observableContactGroups = FXCollections.observableList(contactGroups);
+            readOnlyContactGroups = FXCollections.unmodifiableObservableList(observableContactGroups);
+        }
+        return readOnlyContactGroups;
+    }
+
+    /**
+     * Replaces each of the contact groups in place, e.g. by an equivalent shared instance.
+     * Does not count as an update of this person.
+     */
+    void replaceContactGroups(UnaryOperator<ContactGroup> replacement) {
+        final List<ContactGroup> groups = observableContactGroups == null ? contactGroups : observableContactGroups;
+        for (int i = 0; i < groups.size(); i++) {
+            final ContactGroup replacementGroup = replacement.apply(groups.get(i));
+            if (replacementGroup != groups.get(i)) {
+                groups.set(i, replacementGroup);
+            }
+        }
+    }
+
+    /**
+     * Replaces the text fields by equal strings shared through the dictionary.
+     * Does not count as an update of this person.
+     */
+    public void internStrings(StringDictionary dictionary) {
+        if (firstNameProperty == null) {
+            firstName = dictionary.intern(firstName);
+        }
+        if (lastNameProperty == null) {
+            lastName = dictionary.intern(lastName);
+        }
+        if (streetProperty == null) {
+            street = dictionary.intern(street);
+        }
+        if (cityProperty == null) {
+            city = dictionary.intern(city);
+        }
+        replaceContactGroups(group -> {
+                group.internStrings(dictionary);
+                return group;
+            });
+    }
+
+    /**
+     * @return the stable identifier of this person, or 0 if none has been assigned yet
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Assigns the stable identifier. Does not count as an update of this person.
+     */
+    public void setId(long id) {
+        this.id = id;
     }
 
     public String getFirstName() {
-        return firstName.get();
+        return firstName;
     }
 
     public void setFirstName(String firstName) {
-        this.firstName.set(firstName);
-        updatedAt.set(LocalDateTime.now());
+        if (firstNameProperty == null) {
+            this.firstName = firstName;
+            hash = 0;
+        } else {
+            firstNameProperty.set(firstName);
+        }
+        setUpdatedAt(LocalDateTime.now());
+    }
+
+    public StringProperty firstNameProperty() {
+        if (firstNameProperty == null) {
+            firstNameProperty = new SimpleStringProperty(this, "firstName", firstName) {
+                @Override
+                protected void invalidated() {
+                    firstName = get();
+                    hash = 0;
+                }
+            };
+        }
+        return firstNameProperty;
     }
 
     public String getLastName() {
-        return lastName.get();
+        return lastName;
     }
 
     public void setLastName(String lastName) {
-        this.lastName.set(lastName);
-        updatedAt.set(LocalDateTime.now());
+        if (lastNameProperty == null) {
+            this.lastName = lastName;
+            hash = 0;
+        } else {
+            lastNameProperty.set(lastName);
+        }
+        setUpdatedAt(LocalDateTime.now());
+    }
+
+    public StringProperty lastNameProperty() {
+        if (lastNameProperty == null) {
+            lastNameProperty = new SimpleStringProperty(this, "lastName", lastName) {
+                @Override
+                protected void invalidated() {
+                    lastName = get();
+                    hash = 0;
+                }
+            };
+        }
+        return lastNameProperty;
     }
 
     public String getFullName() {
@@ -122,57 +260,129 @@ public class Person extends DataType {
     }
 
     public String getStreet() {
-        return street.get();
+        return street;
     }
 
     public void setStreet(String street) {
-        this.street.set(street);
-        updatedAt.set(LocalDateTime.now());
+        if (streetProperty == null) {
+            this.street = street;
+        } else {
+            streetProperty.set(street);
+        }
+        setUpdatedAt(LocalDateTime.now());
     }
 
     public StringProperty streetProperty() {
-        return street;
+        if (streetProperty == null) {
+            streetProperty = new SimpleStringProperty(this, "street", street) {
+                @Override
+                protected void invalidated() {
+                    street = get();
+                }
+            };
+        }
+        return streetProperty;
     }
 
     public int getPostalCode() {
-        return postalCode.get();
+        return postalCode;
     }
 
     public void setPostalCode(int postalCode) {
-        this.postalCode.set(postalCode);
-        updatedAt.set(LocalDateTime.now());
+        if (postalCodeProperty == null) {
+            this.postalCode = postalCode;
+        } else {
+            postalCodeProperty.set(postalCode);
+        }
+        setUpdatedAt(LocalDateTime.now());
     }
 
     public IntegerProperty postalCodeProperty() {
-        return postalCode;
+        if (postalCodeProperty == null) {
+            postalCodeProperty = new SimpleIntegerProperty(this, "postalCode", postalCode) {
+                @Override
+                protected void invalidated() {
+                    postalCode = get();
+                }
+            };
+        }
+        return postalCodeProperty;
     }
 
     public String getCity() {
-        return city.get();
+        return city;
     }
 
     public void setCity(String city) {
-        this.city.set(city);
-        updatedAt.set(LocalDateTime.now());
+        if (cityProperty == null) {
+            this.city = city;
+        } else {
+            cityProperty.set(city);
+        }
+        setUpdatedAt(LocalDateTime.now());
     }
 
     public StringProperty cityProperty() {
-        return city;
+        if (cityProperty == null) {
+            cityProperty = new SimpleStringProperty(this, "city", city) {
+                @Override
+                protected void invalidated() {
+                    city = get();
+                }
+            };
+        }
+        return cityProperty;
     }
 
     @XmlJavaTypeAdapter(LocalDateAdapter.class)
     public LocalDate getBirthday() {
-        return birthday.get();
+        return birthday;
     }
 
     public void setBirthday(LocalDate birthday) {
-        this.birthday.set(birthday);
-        updatedAt.set(LocalDateTime.now());
+        if (birthdayProperty == null) {
+            this.birthday = birthday;
+        } else {
+            birthdayProperty.set(birthday);
+        }
+        setUpdatedAt(LocalDateTime.now());
+    }
+
+    public ObjectProperty<LocalDate> birthdayProperty() {
+        if (birthdayProperty == null) {
+            birthdayProperty = new SimpleObjectProperty<LocalDate>(this, "birthday", birthday) {
+                @Override
+                protected void invalidated() {
+                    birthday = get();
+                }
+            };
+        }
+        return birthdayProperty;
     }
 
     @XmlJavaTypeAdapter(LocalDateTimeAdapter.class)
     public LocalDateTime getUpdatedAt() {
-        return updatedAt.get();
+        return updatedAt;
+    }
+
+    private void setUpdatedAt(LocalDateTime updatedAt) {
+        if (updatedAtProperty == null) {
+            this.updatedAt = updatedAt;
+        } else {
+            updatedAtProperty.set(updatedAt);
+        }
+    }
+
+    public ReadOnlyObjectProperty<LocalDateTime> updatedAtProperty() {
+        if (updatedAtProperty == null) {
+            updatedAtProperty = new SimpleObjectProperty<LocalDateTime>(this, "updatedAt", updatedAt) {
+                @Override
+                protected void invalidated() {
+                    updatedAt = get();
+                }
+            };
+        }
+        return updatedAtProperty;
     }
 
     public URL getWebPageUrl() {
@@ -181,16 +391,12 @@ public class Person extends DataType {
 
     public void setWebPageUrl(URL webPageUrl) {
         this.webPageUrl = webPageUrl;
-        updatedAt.set(LocalDateTime.now());
-    }
-
-    public ObjectProperty<LocalDate> birthdayProperty() {
-        return birthday;
+        setUpdatedAt(LocalDateTime.now());
     }
 
     /**
      * Updates the attributes based on the values in the parameter.
-     * Mutable references are cloned.
+     * Mutable references are cloned. The id is not copied; this person keeps its identity.
      *
      * @param updated The object containing the new attributes.
      * @return self
@@ -204,10 +410,26 @@ public class Person extends DataType {
         setBirthday(updated.getBirthday());
         setContactGroups(updated.getContactGroupsCopy());
         setWebPageUrl(updated.getWebPageUrl());
-        updatedAt.set(LocalDateTime.now());
+        setUpdatedAt(LocalDateTime.now());
         return this;
     }
 
+    /**
+     * @return true if the other person has the same details, apart from the id and the time of the last update
+     */
+    public boolean hasSameDetails(Person other) {
+        return Objects.equals(getFirstName(), other.getFirstName())
+                && Objects.equals(getLastName(), other.getLastName())
+                && Objects.equals(getStreet(), other.getStreet())
+                && getPostalCode() == other.getPostalCode()
+                && Objects.equals(getCity(), other.getCity())
+                && Objects.equals(getBirthday(), other.getBirthday())
+                // compared as text, as URL.equals resolves host names
+                && Objects.equals(Objects.toString(getWebPageUrl(), null),
+                                  Objects.toString(other.getWebPageUrl(), null))
+                && contactGroups.equals(other.contactGroups);
+    }
+
     @Override
     public boolean equals(Object otherPerson){
         if (otherPerson == this) return true;
@@ -216,12 +438,26 @@ public class Person extends DataType {
 
         final Person other = (Person) otherPerson;
         if (this.getFirstName() == other.getFirstName() && this.getLastName() == other.getLastName()) return true;
+        if (this.getNameHash() != other.getNameHash()) return false;
         return this.getFirstName().equals(other.getFirstName()) && this.getLastName().equals(other.getLastName());
     }
 
     @Override
     public int hashCode() {
-        return (getFirstName()+getLastName()).hashCode();
+        return getNameHash();
+    }
+
+    /**
+     * Hash of the name, computed without allocating and cached until the name changes.
+     * Unlike hashCode(), cannot be overridden, so it can be compared with that of a subclass instance.
+     */
+    private int getNameHash() {
+        int h = hash;
+        if (h == 0) {
+            h = 31 * Objects.hashCode(getFirstName()) + Objects.hashCode(getLastName());
+            hash = h;
+        }
+        return h;
     }
 
     @Override
@@ -1,14 +1,27 @@
 package address.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import address.events.EventManager;
 import address.events.GroupSearchResultsChangedEvent;
 import address.events.GroupsChangedEvent;
 
+/**
+ * Searching and assigning groups in the person edit dialog.
+ *
+ * Groups are searched through an index of their names, and the search results are updated by their changes
+ * only, so that typing stays responsive with many groups. Groups are tracked by identity, as the equality of
+ * a {@link SelectableContactGroup} depends on whether it is selected.
+ */
 public class PersonEditDialogGroupsModel {
     List<SelectableContactGroup> groups = new ArrayList<>();
     List<SelectableContactGroup> filteredGroups = new ArrayList<>();
@@ -16,35 +29,50 @@ public class PersonEditDialogGroupsModel {
 
     List<SelectableContactGroup> assignedGroups = new ArrayList<>();
 
+    private final GroupNameIndex groupNameIndex;
+    private final Map<SelectableContactGroup, Integer> positions = new IdentityHashMap<>();
+    private final Set<SelectableContactGroup> filteredGroupSet = newIdentitySet();
+    private final Set<SelectableContactGroup> assignedGroupSet = newIdentitySet();
+    private SelectableContactGroup selectedGroup;
+
     public PersonEditDialogGroupsModel(List<ContactGroup> groups, List<ContactGroup> assignedGroups) {
-        List<SelectableContactGroup> selectableContactGroups = groups.stream()
-                                                                .map(SelectableContactGroup::new)
-                                                                .collect(Collectors.toList());
-        this.groups.addAll(selectableContactGroups);
+        final Map<String, List<SelectableContactGroup>> groupsByName = new HashMap<>();
+        for (ContactGroup group : groups) {
+            final SelectableContactGroup selectableGroup = new SelectableContactGroup(group);
+            positions.put(selectableGroup, this.groups.size());
+            this.groups.add(selectableGroup);
+            groupsByName.computeIfAbsent(group.getName(), name -> new ArrayList<>(1)).add(selectableGroup);
+        }
+        groupNameIndex = new GroupNameIndex(this.groups);
 
-        assignedGroups.stream()
-                .forEach(assignedGroup -> this.assignedGroups.addAll(this.groups.stream()
-                        .filter(group -> group.getName().equals(assignedGroup.getName()))
-                        .collect(Collectors.toList())));
+        for (ContactGroup assignedGroup : assignedGroups) {
+            for (SelectableContactGroup group : groupsByName.getOrDefault(assignedGroup.getName(),
+                                                                          Collections.emptyList())) {
+                assign(group);
+            }
+        }
 
         EventManager.getInstance().post(new GroupsChangedEvent(this.assignedGroups));
         setFilter("");
     }
 
-    private Optional<SelectableContactGroup> getSelection() {
-        return filteredGroups.stream()
-                .filter(SelectableContactGroup::isSelected)
-                .findFirst();
+    private static Set<SelectableContactGroup> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private void assign(SelectableContactGroup group) {
+        if (assignedGroupSet.add(group)) {
+            assignedGroups.add(group);
+        }
     }
 
     public void toggleSelection() {
-        Optional<SelectableContactGroup> selection = getSelection();
-        if (!selection.isPresent()) return;
+        if (selectedGroup == null) return;
 
-        if (assignedGroups.contains(selection.get())) {
-            assignedGroups.remove(selection.get());
+        if (assignedGroupSet.remove(selectedGroup)) {
+            assignedGroups.removeIf(group -> group == selectedGroup);
         } else {
-            assignedGroups.add(selection.get());
+            assign(selectedGroup);
         }
 
         EventManager.getInstance().post(new GroupsChangedEvent(assignedGroups));
@@ -52,19 +80,14 @@ public class PersonEditDialogGroupsModel {
 
     private void selectIndex(int index) {
         clearSelection();
-        SelectableContactGroup group = filteredGroups.remove(index);
-        group.setSelected(true);
-        filteredGroups.add(index, group);
+        selectedGroup = filteredGroups.get(index);
+        selectedGroup.setSelected(true);
     }
 
     private void clearSelection() {
-        for (int i = 0; i < filteredGroups.size(); i++) {
-            if (filteredGroups.get(i).isSelected()) {
-                SelectableContactGroup group = filteredGroups.remove(i);
-                group.setSelected(false);
-                filteredGroups.add(i, group);
-            }
-        }
+        if (selectedGroup == null) return;
+        selectedGroup.setSelected(false);
+        selectedGroup = null;
     }
 
     public void selectNext() {
@@ -98,23 +121,25 @@ public class PersonEditDialogGroupsModel {
         return selectedGroupIndex.isPresent() && selectedGroupIndex.get() > 0;
     }
 
+    /**
+     * Shows the groups whose names contain the filter, keeping the ones already shown in place and adding
+     * the others after them.
+     */
     public void setFilter(String filter) {
-
-        List<SelectableContactGroup> newContactGroups = groups.stream()
-                .filter(group -> group.getName().contains(filter))
-                .collect(Collectors.toList());
-
-        List<SelectableContactGroup> toBeAdded = newContactGroups.stream()
-                .filter(newContactGroup -> !filteredGroups.contains(newContactGroup))
-                .collect(Collectors.toList());
-        List<SelectableContactGroup> toBeRemoved = filteredGroups.stream()
-                .filter(oldContactGroup -> !newContactGroups.contains(oldContactGroup))
-                .collect(Collectors.toList());
-
-        toBeRemoved.stream()
-                .forEach(toRemove -> filteredGroups.remove(toRemove));
-        toBeAdded.stream()
-                .forEach(toAdd -> filteredGroups.add(toAdd));
+        if (filter.isEmpty()) {
+            groups.stream()
+                    .filter(filteredGroupSet::add)
+                    .forEach(filteredGroups::add);
+        } else {
+            final Set<SelectableContactGroup> matches = groupNameIndex.find(filter);
+            if (filteredGroupSet.retainAll(matches)) {
+                filteredGroups.removeIf(group -> !matches.contains(group));
+            }
+            matches.stream()
+                    .filter(filteredGroupSet::add)
+                    .sorted(Comparator.comparing(positions::get))
+                    .forEach(filteredGroups::add);
+        }
 
         if (!filter.isEmpty() && !filteredGroups.isEmpty()) {
             selectedGroupIndex = Optional.of(0);
@@ -128,7 +153,7 @@ public class PersonEditDialogGroupsModel {
 
     public List<ContactGroup> getAssignedGroups() {
         return assignedGroups.stream()
-                .map(assignedGroup -> new ContactGroup(assignedGroup.getName()))
+                .map(SelectableContactGroup::getContactGroup)
                 .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,25 @@
+package address.model;
+
+/**
+ * The orders in which the persons in view can be listed.
+ */
+public enum PersonSortOrder {
+    NONE("Unsorted"),
+    LAST_NAME("Last name"),
+    FIRST_NAME("First name"),
+    CITY("City"),
+    POSTAL_CODE("Postal code"),
+    BIRTHDAY("Birthday"),
+    UPDATED_AT("Last updated");
+
+    private final String displayName;
+
+    PersonSortOrder(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -1,10 +1,19 @@
 package address.model;
 
 public class SelectableContactGroup extends ContactGroup {
+    private final ContactGroup contactGroup;
     private boolean isSelected = false;
 
     public SelectableContactGroup(ContactGroup contactGroup) {
         super(contactGroup.getName());
+        this.contactGroup = contactGroup;
+    }
+
+    /**
+     * @return the group this wraps
+     */
+    public ContactGroup getContactGroup() {
+        return contactGroup;
     }
 
     public void setSelected(boolean isSelected) {
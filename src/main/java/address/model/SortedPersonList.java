@@ -0,0 +1,318 @@
+package address.model;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A sorted view of a list of persons, e.g. of the persons in view.
+ *
+ * Text is compared by the rules of the default locale. Rather than comparing the text on every comparison,
+ * each person's sort key, made of collation keys, is computed once and cached while the person is in view,
+ * until the person is updated. A person that is added, removed or updated is found or placed by binary search,
+ * in O(log n) comparisons, and the persons after it are shifted along in the backing array; the list is not
+ * re-sorted and no other keys are computed. Only large changes, such as a new filter, and a change of order
+ * re-sort it. Persons without a value to sort by (no text, no date or a postal code of 0) come last.
+ * Persons comparing equal are listed by id.
+ *
+ * As updates to persons are not seen by the source list, they must be reported through {@link #update}.
+ * While the order is {@link PersonSortOrder#NONE}, the view is empty and costs nothing to keep.
+ * Must be used on the JavaFX Application Thread.
+ */
+public class SortedPersonList extends TransformationList<Person, Person> {
+
+    private static final Comparator<SortKey> BY_TEXT = Comparator
+            .comparing((SortKey key) -> key.text, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(key -> key.secondText, Comparator.nullsLast(Comparator.naturalOrder()));
+    private static final Comparator<SortKey> BY_NUMBER = Comparator
+            .comparing((SortKey key) -> key.number, Comparator.nullsLast(Comparator.naturalOrder()));
+    private static final Comparator<SortKey> BY_DATE = Comparator
+            .comparing((SortKey key) -> key.date, Comparator.nullsLast(Comparator.naturalOrder()));
+    private static final Comparator<SortKey> BY_DATE_TIME = Comparator
+            .comparing((SortKey key) -> key.dateTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Collator collator = Collator.getInstance();
+    private PersonSortOrder sortOrder = PersonSortOrder.NONE;
+    private Comparator<SortKey> comparator;
+    private final List<SortKey> sorted = new ArrayList<>();
+    /** Sort keys of the persons in view */
+    private final Map<Person, SortKey> keys = new IdentityHashMap<>();
+
+    public SortedPersonList(ObservableList<? extends Person> source) {
+        super(source);
+    }
+
+    public PersonSortOrder getSortOrder() {
+        return sortOrder;
+    }
+
+    /**
+     * Re-sorts the view in the given order, as a permutation of the persons already in view.
+     */
+    public void setSortOrder(PersonSortOrder sortOrder) {
+        if (sortOrder == this.sortOrder) return;
+        final boolean wasActive = isActive();
+        this.sortOrder = sortOrder;
+        comparator = getComparator(sortOrder);
+        keys.clear();
+        if (!isActive()) {
+            final List<Person> removed = getPersons(sorted);
+            sorted.clear();
+            fireReplaced(removed);
+        } else if (!wasActive) {
+            sortSource();
+            fireReplaced(Collections.emptyList());
+        } else {
+            final Map<Person, Integer> oldIndexes = new IdentityHashMap<>();
+            for (int i = 0; i < sorted.size(); i++) {
+                oldIndexes.put(sorted.get(i).person, i);
+            }
+            sortSource();
+            final int[] permutation = new int[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                permutation[oldIndexes.get(sorted.get(i).person)] = i;
+            }
+            beginChange();
+            nextPermutation(0, sorted.size(), permutation);
+            endChange();
+        }
+    }
+
+    /**
+     * Moves a person whose details have changed into place, if the person is in view.
+     */
+    public void update(Person person) {
+        final SortKey oldKey = keys.remove(person);
+        if (oldKey == null) return; // not in view
+        final int oldIndex = indexOf(oldKey);
+
+        final SortKey newKey = getKey(person);
+        sorted.remove(oldIndex);
+        final int newIndex = insertionIndex(newKey);
+        sorted.add(newIndex, newKey);
+        beginChange();
+        if (newIndex == oldIndex) {
+            nextUpdate(newIndex);
+        } else {
+            nextRemove(oldIndex, person);
+            nextAdd(newIndex, newIndex + 1);
+        }
+        endChange();
+    }
+
+    @Override
+    protected void sourceChanged(ListChangeListener.Change<? extends Person> c) {
+        if (!isActive()) return;
+        int changedCount = 0;
+        while (c.next()) {
+            changedCount += c.getRemovedSize() + c.getAddedSize();
+        }
+        c.reset();
+
+        if (changedCount > sorted.size() / 4 + 16) {
+            final List<Person> removed = getPersons(sorted);
+            sortSource();
+            fireReplaced(removed);
+            return;
+        }
+
+        beginChange();
+        while (c.next()) {
+            if (c.wasPermutated()) continue;
+            for (Person person : c.getRemoved()) {
+                final SortKey key = keys.remove(person);
+                if (key == null) continue;
+                final int index = indexOf(key);
+                sorted.remove(index);
+                nextRemove(index, person);
+            }
+            for (Person person : c.getAddedSubList()) {
+                final SortKey key = getKey(person);
+                final int index = insertionIndex(key);
+                sorted.add(index, key);
+                nextAdd(index, index + 1);
+            }
+        }
+        endChange();
+    }
+
+    /**
+     * Finds the source index by searching the source, in O(n) time.
+     */
+    @Override
+    public int getSourceIndex(int index) {
+        final Person person = get(index);
+        final List<? extends Person> source = getSource();
+        for (int i = 0; i < source.size(); i++) {
+            if (source.get(i) == person) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index in the view of the person at the source index, or -1 if it is not in view
+     */
+    public int getViewIndex(int index) {
+        final SortKey key = keys.get(getSource().get(index));
+        return key == null ? -1 : indexOf(key);
+    }
+
+    @Override
+    public Person get(int index) {
+        return sorted.get(index).person;
+    }
+
+    @Override
+    public int size() {
+        return sorted.size();
+    }
+
+    private boolean isActive() {
+        return sortOrder != PersonSortOrder.NONE;
+    }
+
+    /**
+     * Sorts the persons in the source, reusing the keys of the ones already in view and dropping the others.
+     */
+    private void sortSource() {
+        final Map<Person, SortKey> oldKeys = new IdentityHashMap<>(keys);
+        keys.clear();
+        sorted.clear();
+        for (Person person : getSource()) {
+            final SortKey key = oldKeys.containsKey(person) ? oldKeys.get(person) : createKey(person);
+            keys.put(person, key);
+            sorted.add(key);
+        }
+        sorted.sort(comparator);
+    }
+
+    private void fireReplaced(List<Person> removed) {
+        beginChange();
+        if (!removed.isEmpty()) {
+            nextRemove(0, removed);
+        }
+        if (!sorted.isEmpty()) {
+            nextAdd(0, sorted.size());
+        }
+        endChange();
+    }
+
+    private static List<Person> getPersons(List<SortKey> keys) {
+        return keys.stream().map(key -> key.person).collect(Collectors.toList());
+    }
+
+    /**
+     * @return the index of the key, which must be in view
+     */
+    private int indexOf(SortKey key) {
+        final int index = Collections.binarySearch(sorted, key, comparator);
+        assert index >= 0 : "sort key not in view";
+        // persons comparing equal are next to each other
+        for (int i = index; i >= 0 && comparator.compare(sorted.get(i), key) == 0; i--) {
+            if (sorted.get(i) == key) return i;
+        }
+        for (int i = index + 1; i < sorted.size() && comparator.compare(sorted.get(i), key) == 0; i++) {
+            if (sorted.get(i) == key) return i;
+        }
+        throw new IllegalStateException("Sort key not in view");
+    }
+
+    private int insertionIndex(SortKey key) {
+        final int index = Collections.binarySearch(sorted, key, comparator);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private SortKey getKey(Person person) {
+        return keys.computeIfAbsent(person, this::createKey);
+    }
+
+    private SortKey createKey(Person person) {
+        final SortKey key = new SortKey(person);
+        switch (sortOrder) {
+        case LAST_NAME:
+            key.text = collate(person.getLastName());
+            key.secondText = collate(person.getFirstName());
+            break;
+        case FIRST_NAME:
+            key.text = collate(person.getFirstName());
+            key.secondText = collate(person.getLastName());
+            break;
+        case CITY:
+            key.text = collate(person.getCity());
+            break;
+        case POSTAL_CODE:
+            key.number = person.getPostalCode() == 0 ? null : person.getPostalCode(); // 0 if not given
+            break;
+        case BIRTHDAY:
+            key.date = person.getBirthday();
+            break;
+        case UPDATED_AT:
+            key.dateTime = person.getUpdatedAt();
+            break;
+        default:
+            throw new IllegalStateException("No sort keys when unsorted");
+        }
+        return key;
+    }
+
+    /**
+     * @return compares sort keys made for the order
+     */
+    private static Comparator<SortKey> getComparator(PersonSortOrder sortOrder) {
+        final Comparator<SortKey> byValue;
+        switch (sortOrder) {
+        case LAST_NAME:
+        case FIRST_NAME:
+        case CITY:
+            byValue = BY_TEXT;
+            break;
+        case POSTAL_CODE:
+            byValue = BY_NUMBER;
+            break;
+        case BIRTHDAY:
+            byValue = BY_DATE;
+            break;
+        case UPDATED_AT:
+            byValue = BY_DATE_TIME;
+            break;
+        default:
+            return null;
+        }
+        return byValue.thenComparingLong(key -> key.id);
+    }
+
+    private CollationKey collate(String text) {
+        return text == null || text.isEmpty() ? null : collator.getCollationKey(text);
+    }
+
+    /**
+     * A person with the values it is sorted by, as they were when the key was made.
+     * Only the values used by the current order are set.
+     */
+    private static class SortKey {
+        private final Person person;
+        private final long id;
+        private CollationKey text;
+        private CollationKey secondText;
+        private Integer number;
+        private LocalDate date;
+        private LocalDateTime dateTime;
+
+        SortKey(Person person) {
+            this.person = person;
+            this.id = person.getId();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package address.model.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A Burkhard-Keller tree: a metric index that finds all elements within a given distance of a query
+ * without comparing the query against every element.
+ *
+ * Not thread safe. Elements cannot be removed; callers that need removal should track
+ * removed elements themselves and rebuild the tree once there are too many of them.
+ *
+ * @param <T> type of the elements. The distance function must be a metric over them.
+ */
+public class BkTree<T> {
+
+    /**
+     * An element found by a search, and its distance to the query.
+     */
+    public static class Match<T> {
+        public final T element;
+        public final int distance;
+
+        Match(T element, int distance) {
+            this.element = element;
+            this.distance = distance;
+        }
+    }
+
+    private static class Node<T> {
+        final T element;
+        final Map<Integer, Node<T>> children = new HashMap<>();
+
+        Node(T element) {
+            this.element = element;
+        }
+    }
+
+    private final ToIntBiFunction<T, T> distance;
+    private Node<T> root;
+    private int size;
+
+    public BkTree(ToIntBiFunction<T, T> distance) {
+        this.distance = distance;
+    }
+
+    /**
+     * Adds the element if it is not in the tree already.
+     */
+    public void add(T element) {
+        if (root == null) {
+            root = new Node<>(element);
+            size++;
+            return;
+        }
+        Node<T> node = root;
+        while (true) {
+            final int d = distance.applyAsInt(element, node.element);
+            if (d == 0) return;
+            final Node<T> child = node.children.get(d);
+            if (child == null) {
+                node.children.put(d, new Node<>(element));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * @return all elements within maxDistance of the query, in no particular order
+     */
+    public List<Match<T>> search(T query, int maxDistance) {
+        final List<Match<T>> matches = new ArrayList<>();
+        if (root == null) return matches;
+
+        final Deque<Node<T>> toVisit = new ArrayDeque<>();
+        toVisit.push(root);
+        while (!toVisit.isEmpty()) {
+            final Node<T> node = toVisit.pop();
+            final int d = distance.applyAsInt(query, node.element);
+            if (d <= maxDistance) {
+                matches.add(new Match<>(node.element, d));
+            }
+            // by the triangle inequality, only subtrees at distance d +/- maxDistance can hold matches
+            for (int i = Math.max(1, d - maxDistance); i <= d + maxDistance; i++) {
+                final Node<T> child = node.children.get(i);
+                if (child != null) {
+                    toVisit.push(child);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return number of elements in the tree
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,145 @@
+package address.model.index;
+
+import address.model.Person;
+import address.util.StringUtil;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Finds persons whose first or last name is within a small edit distance of a query term.
+ *
+ * Name terms are lower-cased and kept in a BK-tree, so a search only compares the query against
+ * a fraction of the distinct terms. Terms no longer used by any person stay in the tree until they
+ * outnumber the live ones, at which point the tree is rebuilt.
+ * All operations are thread safe; returned collections are copies.
+ */
+public class FuzzyNameIndex implements PersonIndex {
+
+    /** The tree is not rebuilt while it has fewer unused terms than this */
+    private static final int MIN_UNUSED_TERMS_FOR_REBUILD = 1000;
+
+    /**
+     * Persons having a name term close to a query, and how close it is.
+     */
+    public static class Match {
+        public final String term;
+        public final int distance;
+        public final Set<Person> persons;
+
+        Match(String term, int distance, Set<Person> persons) {
+            this.term = term;
+            this.distance = distance;
+            this.persons = persons;
+        }
+    }
+
+    private BkTree<String> terms = new BkTree<>(StringUtil::editDistance);
+    private final Map<String, Set<Person>> postings = new HashMap<>();
+    private final Map<Person, Set<String>> termsOfPerson = new IdentityHashMap<>();
+
+    /**
+     * @return the lower-cased terms in the person's first and last names
+     */
+    public static Set<String> getNameTerms(Person person) {
+        final Set<String> nameTerms = new HashSet<>();
+        addTerms(nameTerms, person.getFirstName());
+        addTerms(nameTerms, person.getLastName());
+        return nameTerms;
+    }
+
+    private static void addTerms(Set<String> nameTerms, String name) {
+        if (name == null) return;
+        for (String term : name.toLowerCase().split("\\s+")) {
+            if (!term.isEmpty()) {
+                nameTerms.add(term);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void add(Person person) {
+        final Set<String> nameTerms = getNameTerms(person);
+        termsOfPerson.put(person, nameTerms);
+        for (String term : nameTerms) {
+            postings.computeIfAbsent(term, t -> {
+                    terms.add(t);
+                    return Collections.newSetFromMap(new IdentityHashMap<>());
+                }).add(person);
+        }
+    }
+
+    @Override
+    public synchronized void remove(Person person) {
+        final Set<String> nameTerms = termsOfPerson.remove(person);
+        if (nameTerms == null) return;
+        for (String term : nameTerms) {
+            final Set<Person> persons = postings.get(term);
+            persons.remove(person);
+            if (persons.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        final int unusedTerms = terms.size() - postings.size();
+        if (unusedTerms >= MIN_UNUSED_TERMS_FOR_REBUILD && unusedTerms > postings.size()) {
+            rebuildTree();
+        }
+    }
+
+    @Override
+    public synchronized void update(Person person) {
+        if (getNameTerms(person).equals(termsOfPerson.get(person))) return; // name unchanged
+        remove(person);
+        add(person);
+    }
+
+    @Override
+    public synchronized void clear() {
+        terms = new BkTree<>(StringUtil::editDistance);
+        postings.clear();
+        termsOfPerson.clear();
+    }
+
+    private void rebuildTree() {
+        terms = new BkTree<>(StringUtil::editDistance);
+        postings.keySet().forEach(terms::add);
+    }
+
+    /**
+     * @param query a single name term
+     * @return name terms within maxDistance of the query and the persons having them, closest first
+     */
+    public synchronized List<Match> search(String query, int maxDistance) {
+        return terms.search(query.toLowerCase(), maxDistance).stream()
+                .filter(match -> postings.containsKey(match.element))
+                .sorted(Comparator.comparingInt((BkTree.Match<String> match) -> match.distance)
+                        .thenComparing(match -> match.element))
+                .map(match -> new Match(match.element, match.distance, copyOf(postings.get(match.element))))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return persons having a name term within maxDistance of the query
+     */
+    public synchronized Set<Person> find(String query, int maxDistance) {
+        final Set<Person> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        terms.search(query.toLowerCase(), maxDistance).stream()
+                .map(match -> postings.get(match.element))
+                .filter(persons -> persons != null)
+                .forEach(result::addAll);
+        return result;
+    }
+
+    private static Set<Person> copyOf(Set<Person> persons) {
+        final Set<Person> copy = Collections.newSetFromMap(new IdentityHashMap<>());
+        copy.addAll(persons);
+        return copy;
+    }
+}
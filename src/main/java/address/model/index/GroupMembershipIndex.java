@@ -0,0 +1,67 @@
+package address.model.index;
+
+import address.model.ContactGroup;
+import address.model.Person;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maps each contact group instance to the persons belonging to it, and each person to its groups.
+ *
+ * Groups are keyed by identity rather than by name, so a renamed group keeps its members.
+ * This relies on the persons sharing canonical group instances (see {@code ContactGroupRegistry}).
+ */
+public class GroupMembershipIndex extends KeyedIndex<ContactGroup> {
+
+    public GroupMembershipIndex() {
+        super(GroupMembershipIndex::getDistinctGroups, new IdentityHashMap<>());
+    }
+
+    /**
+     * @return the person's group instances, each once, even if the person holds one more than once
+     */
+    private static Collection<ContactGroup> getDistinctGroups(Person person) {
+        final List<ContactGroup> groups = person.getContactGroupsCopy();
+        final Set<ContactGroup> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        groups.removeIf(group -> !seen.add(group));
+        return groups;
+    }
+
+    @Override
+    protected boolean isSameKeys(Collection<ContactGroup> oldKeys, Collection<ContactGroup> newKeys) {
+        if (oldKeys.size() != newKeys.size()) return false;
+        final Iterator<ContactGroup> newKeysIterator = newKeys.iterator();
+        for (ContactGroup oldKey : oldKeys) {
+            if (oldKey != newKeysIterator.next()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return members of the group, in O(members)
+     */
+    public Set<Person> getMembers(ContactGroup group) {
+        return get(group);
+    }
+
+    /**
+     * @return groups the person was filed under when it was last added or updated
+     */
+    public synchronized List<ContactGroup> getGroups(Person person) {
+        final Collection<ContactGroup> groups = getKeys(person);
+        return groups == null ? new ArrayList<>() : new ArrayList<>(groups);
+    }
+
+    /**
+     * @return number of group instances having at least one member
+     */
+    public synchronized int getGroupCount() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,29 @@
+package address.model.index;
+
+import address.model.Person;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.function.Function;
+
+/**
+ * Finds persons by exact key in constant time.
+ *
+ * @param <K> type of the keys
+ */
+public class HashIndex<K> extends KeyedIndex<K> {
+
+    /**
+     * @param keyExtractor gives all keys a person should be filed under
+     */
+    public HashIndex(Function<Person, Collection<K>> keyExtractor) {
+        super(keyExtractor, new HashMap<>());
+    }
+
+    /**
+     * @param keyExtractor gives the key a person should be filed under, or null to leave it out
+     */
+    public static <K> HashIndex<K> on(Function<Person, K> keyExtractor) {
+        return new HashIndex<>(singleKey(keyExtractor));
+    }
+}
@@ -0,0 +1,61 @@
+package address.model.index;
+
+import address.model.Person;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Finds persons by their stable id in constant time. Persons without an id (0) are not indexed.
+ * All operations are thread safe.
+ */
+public class IdIndex implements PersonIndex {
+
+    private final Map<Long, Person> personsById = new HashMap<>();
+    private final Map<Person, Long> idOfPerson = new IdentityHashMap<>();
+
+    @Override
+    public synchronized void add(Person person) {
+        if (person.getId() == 0) return;
+        personsById.put(person.getId(), person);
+        idOfPerson.put(person, person.getId());
+    }
+
+    @Override
+    public synchronized void remove(Person person) {
+        final Long id = idOfPerson.remove(person);
+        if (id != null) {
+            personsById.remove(id, person);
+        }
+    }
+
+    @Override
+    public synchronized void update(Person person) {
+        final Long id = idOfPerson.get(person);
+        if (id != null && id == person.getId()) return;
+        remove(person);
+        add(person);
+    }
+
+    @Override
+    public synchronized void clear() {
+        personsById.clear();
+        idOfPerson.clear();
+    }
+
+    /**
+     * @return the person with the id
+     */
+    public synchronized Optional<Person> get(long id) {
+        return Optional.ofNullable(personsById.get(id));
+    }
+
+    /**
+     * @return number of persons in this index
+     */
+    public synchronized int size() {
+        return personsById.size();
+    }
+}
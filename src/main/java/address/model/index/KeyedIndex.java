@@ -0,0 +1,125 @@
+package address.model.index;
+
+import address.model.Person;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A person index that files each person under zero or more keys derived from it.
+ *
+ * Persons are tracked by identity, and the keys each person was filed under are remembered
+ * so that it can be removed even after its details have changed.
+ * All operations are thread safe; returned collections are copies.
+ *
+ * @param <K> type of the keys
+ */
+public abstract class KeyedIndex<K> implements PersonIndex {
+
+    private final Function<Person, Collection<K>> keyExtractor;
+    protected final Map<K, Set<Person>> entries;
+    private final Map<Person, Collection<K>> keysOfPerson = new IdentityHashMap<>();
+
+    /**
+     * @param keyExtractor gives the keys to file a person under. Should not give null keys.
+     * @param entries empty map to hold the index entries
+     */
+    protected KeyedIndex(Function<Person, Collection<K>> keyExtractor, Map<K, Set<Person>> entries) {
+        this.keyExtractor = keyExtractor;
+        this.entries = entries;
+    }
+
+    /**
+     * Adapts a single-valued key extractor. Persons for which it gives null are not indexed.
+     */
+    protected static <K> Function<Person, Collection<K>> singleKey(Function<Person, K> keyExtractor) {
+        return person -> {
+            final K key = keyExtractor.apply(person);
+            return key == null ? Collections.emptyList() : Collections.singletonList(key);
+        };
+    }
+
+    protected static Set<Person> newPersonSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    @Override
+    public synchronized void add(Person person) {
+        final Collection<K> keys = keyExtractor.apply(person);
+        keysOfPerson.put(person, keys);
+        keys.forEach(key -> entries.computeIfAbsent(key, k -> newPersonSet()).add(person));
+    }
+
+    @Override
+    public synchronized void remove(Person person) {
+        final Collection<K> keys = keysOfPerson.remove(person);
+        if (keys == null) return;
+        for (K key : keys) {
+            final Set<Person> persons = entries.get(key);
+            if (persons == null) continue; // a key given more than once, already removed
+            persons.remove(person);
+            if (persons.isEmpty()) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void update(Person person) {
+        final Collection<K> keys = keysOfPerson.get(person);
+        if (keys != null && isSameKeys(keys, keyExtractor.apply(person))) return; // still filed correctly
+        remove(person);
+        add(person);
+    }
+
+    /**
+     * @return true if a person filed under oldKeys would be filed under exactly the same entries with newKeys
+     */
+    protected boolean isSameKeys(Collection<K> oldKeys, Collection<K> newKeys) {
+        return oldKeys.equals(newKeys);
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        keysOfPerson.clear();
+    }
+
+    /**
+     * @return persons filed under the key
+     */
+    public synchronized Set<Person> get(K key) {
+        final Set<Person> result = newPersonSet();
+        final Set<Person> persons = entries.get(key);
+        if (persons != null) {
+            result.addAll(persons);
+        }
+        return result;
+    }
+
+    /**
+     * @return keys the person is filed under, or null if it is not in this index
+     */
+    protected synchronized Collection<K> getKeys(Person person) {
+        return keysOfPerson.get(person);
+    }
+
+    /**
+     * @return number of persons filed under the key
+     */
+    public synchronized int count(K key) {
+        final Set<Person> persons = entries.get(key);
+        return persons == null ? 0 : persons.size();
+    }
+
+    /**
+     * @return number of persons in this index
+     */
+    public synchronized int size() {
+        return keysOfPerson.size();
+    }
+}
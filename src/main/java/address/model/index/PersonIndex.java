@@ -0,0 +1,26 @@
+package address.model.index;
+
+import address.model.Person;
+
+/**
+ * A secondary index over persons in the model.
+ *
+ * Implementations must not rely on the current state of a person when removing it, since
+ * persons are updated in place; {@link #update(Person)} is called after such an update.
+ */
+public interface PersonIndex {
+
+    void add(Person person);
+
+    void remove(Person person);
+
+    void clear();
+
+    /**
+     * Re-files a person whose details may have changed since it was added.
+     */
+    default void update(Person person) {
+        remove(person);
+        add(person);
+    }
+}
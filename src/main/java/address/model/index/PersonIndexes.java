@@ -0,0 +1,181 @@
+package address.model.index;
+
+import address.model.Person;
+import address.util.Soundex;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * The set of secondary indexes kept over the persons in the model.
+ *
+ * Built-in indexes are available through typed accessors; further indexes can be plugged in with
+ * {@link #register(String, PersonIndex)}. Every registered index receives all add/remove/update calls.
+ */
+public class PersonIndexes implements PersonIndex {
+
+    public static final String ID = "id";
+    public static final String CITY = "city";
+    public static final String GROUP = "group";
+    public static final String POSTAL_CODE = "postalCode";
+    public static final String BIRTHDAY = "birthday";
+    public static final String BIRTHDAY_MONTH = "birthdayMonth";
+    public static final String UPDATED_AT = "updatedAt";
+    public static final String FUZZY_NAME = "fuzzyName";
+    public static final String PHONETIC_NAME = "phoneticName";
+    public static final String GROUP_MEMBERSHIP = "groupMembership";
+    public static final String UPCOMING_BIRTHDAY = "upcomingBirthday";
+
+    private final Map<String, PersonIndex> indexesByName = new ConcurrentHashMap<>();
+    private final List<PersonIndex> indexes = new CopyOnWriteArrayList<>();
+
+    private final IdIndex byId = new IdIndex();
+    private final HashIndex<String> byCity = HashIndex.on(person -> toKey(person.getCity()));
+    private final HashIndex<String> byGroup = new HashIndex<>(person -> person.getContactGroupsCopy().stream()
+            .map(group -> toKey(group.getName()))
+            .collect(Collectors.toSet()));
+    private final RangeIndex<Integer> byPostalCode = RangeIndex.on(Person::getPostalCode);
+    private final RangeIndex<LocalDate> byBirthday = RangeIndex.on(Person::getBirthday);
+    private final HashIndex<Month> byBirthdayMonth = HashIndex.on(person ->
+            person.getBirthday() == null ? null : person.getBirthday().getMonth());
+    private final RangeIndex<LocalDateTime> byUpdatedAt = RangeIndex.on(Person::getUpdatedAt);
+    private final FuzzyNameIndex byFuzzyName = new FuzzyNameIndex();
+    private final HashIndex<String> byPhoneticName = new HashIndex<>(PersonIndexes::getPhoneticKeys);
+    private final GroupMembershipIndex byGroupMembership = new GroupMembershipIndex();
+    private final UpcomingBirthdayIndex byUpcomingBirthday = new UpcomingBirthdayIndex();
+
+    public PersonIndexes() {
+        register(ID, byId);
+        register(CITY, byCity);
+        register(GROUP, byGroup);
+        register(POSTAL_CODE, byPostalCode);
+        register(BIRTHDAY, byBirthday);
+        register(BIRTHDAY_MONTH, byBirthdayMonth);
+        register(UPDATED_AT, byUpdatedAt);
+        register(FUZZY_NAME, byFuzzyName);
+        register(PHONETIC_NAME, byPhoneticName);
+        register(GROUP_MEMBERSHIP, byGroupMembership);
+        register(UPCOMING_BIRTHDAY, byUpcomingBirthday);
+    }
+
+    /**
+     * Normalizes text so that lookups are case-insensitive.
+     */
+    public static String toKey(String text) {
+        return text == null ? null : text.toLowerCase();
+    }
+
+    /**
+     * @return Soundex codes of the terms in the person's first and last names
+     */
+    public static Set<String> getPhoneticKeys(Person person) {
+        return FuzzyNameIndex.getNameTerms(person).stream()
+                .map(Soundex::encode)
+                .filter(code -> !code.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Adds an index. The index should already contain any persons present in the model.
+     * @param name unique name of the index
+     */
+    public synchronized void register(String name, PersonIndex index) {
+        assert !indexesByName.containsKey(name) : "Index " + name + " is already registered";
+        indexesByName.put(name, index);
+        indexes.add(index);
+    }
+
+    /**
+     * @return the index registered under the name
+     */
+    public Optional<PersonIndex> getIndex(String name) {
+        return Optional.ofNullable(indexesByName.get(name));
+    }
+
+    public IdIndex byId() {
+        return byId;
+    }
+
+    /**
+     * @return persons by lower-cased city
+     */
+    public HashIndex<String> byCity() {
+        return byCity;
+    }
+
+    /**
+     * @return persons by lower-cased name of each group they belong to
+     */
+    public HashIndex<String> byGroup() {
+        return byGroup;
+    }
+
+    public RangeIndex<Integer> byPostalCode() {
+        return byPostalCode;
+    }
+
+    public RangeIndex<LocalDate> byBirthday() {
+        return byBirthday;
+    }
+
+    public HashIndex<Month> byBirthdayMonth() {
+        return byBirthdayMonth;
+    }
+
+    public RangeIndex<LocalDateTime> byUpdatedAt() {
+        return byUpdatedAt;
+    }
+
+    public FuzzyNameIndex byFuzzyName() {
+        return byFuzzyName;
+    }
+
+    /**
+     * @return persons by Soundex code of each of their name terms
+     */
+    public HashIndex<String> byPhoneticName() {
+        return byPhoneticName;
+    }
+
+    /**
+     * @return persons by the contact group instances they belong to
+     */
+    public GroupMembershipIndex byGroupMembership() {
+        return byGroupMembership;
+    }
+
+    /**
+     * @return persons by the day of the year of their birthday
+     */
+    public UpcomingBirthdayIndex byUpcomingBirthday() {
+        return byUpcomingBirthday;
+    }
+
+    @Override
+    public void add(Person person) {
+        indexes.forEach(index -> index.add(person));
+    }
+
+    @Override
+    public void remove(Person person) {
+        indexes.forEach(index -> index.remove(person));
+    }
+
+    @Override
+    public void update(Person person) {
+        indexes.forEach(index -> index.update(person));
+    }
+
+    @Override
+    public void clear() {
+        indexes.forEach(PersonIndex::clear);
+    }
+}
@@ -0,0 +1,53 @@
+package address.model.index;
+
+import address.model.Person;
+
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Keeps persons sorted by key, for range lookups in O(log n + matches) time.
+ *
+ * @param <K> type of the keys
+ */
+public class RangeIndex<K extends Comparable<? super K>> extends KeyedIndex<K> {
+
+    /**
+     * @param keyExtractor gives all keys a person should be filed under
+     */
+    public RangeIndex(Function<Person, Collection<K>> keyExtractor) {
+        super(keyExtractor, new TreeMap<>());
+    }
+
+    /**
+     * @param keyExtractor gives the key a person should be filed under, or null to leave it out
+     */
+    public static <K extends Comparable<? super K>> RangeIndex<K> on(Function<Person, K> keyExtractor) {
+        return new RangeIndex<>(singleKey(keyExtractor));
+    }
+
+    /**
+     * @return persons filed under keys between from and to, both inclusive
+     */
+    public synchronized Set<Person> range(K from, K to) {
+        final Set<Person> result = newPersonSet();
+        if (from.compareTo(to) > 0) return result;
+        sorted().subMap(from, true, to, true).values().forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * @return number of persons filed under keys between from and to, both inclusive
+     */
+    public synchronized int countRange(K from, K to) {
+        if (from.compareTo(to) > 0) return 0;
+        return sorted().subMap(from, true, to, true).values().stream().mapToInt(Set::size).sum();
+    }
+
+    protected NavigableMap<K, Set<Person>> sorted() {
+        return (NavigableMap<K, Set<Person>>) entries;
+    }
+}
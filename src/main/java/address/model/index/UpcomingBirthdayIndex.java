@@ -0,0 +1,95 @@
+package address.model.index;
+
+import address.model.Person;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps persons sorted by the day of the year of their birthday, for finding upcoming birthdays without
+ * looking at every person.
+ *
+ * Days are numbered as in a leap year, so 29 February has its own place between 28 February and 1 March.
+ * Lookups wrap around at the end of the year. In years without 29 February, such birthdays fall on 28 February.
+ */
+public class UpcomingBirthdayIndex extends RangeIndex<Integer> {
+
+    private static final int DAYS_IN_LEAP_YEAR = 366;
+    private static final int LEAP_YEAR = 2000;
+    private static final MonthDay LEAP_DAY = MonthDay.of(2, 29);
+    private static final MonthDay DAY_BEFORE_LEAP_DAY = MonthDay.of(2, 28);
+
+    public UpcomingBirthdayIndex() {
+        super(singleKey(person -> person.getBirthday() == null ? null : toKey(MonthDay.from(person.getBirthday()))));
+    }
+
+    /**
+     * @return the next date, from today on, on which the birthday falls
+     */
+    public static LocalDate getNextBirthday(LocalDate birthday, LocalDate today) {
+        final MonthDay day = MonthDay.from(birthday);
+        final LocalDate thisYear = day.atYear(today.getYear()); // 29 February becomes 28 February if need be
+        return thisYear.isBefore(today) ? day.atYear(today.getYear() + 1) : thisYear;
+    }
+
+    /**
+     * @return persons having their birthday between today and the given number of days after, both inclusive
+     */
+    public synchronized Set<Person> upcoming(LocalDate today, int days) {
+        if (days >= DAYS_IN_LEAP_YEAR - 1) {
+            return range(1, DAYS_IN_LEAP_YEAR);
+        }
+        final int from = toKey(MonthDay.from(today));
+        final LocalDate last = today.plusDays(days);
+        final int to = toEndKey(last);
+        if (last.getYear() == today.getYear()) {
+            return range(from, to);
+        }
+        final Set<Person> result = range(from, DAYS_IN_LEAP_YEAR);
+        result.addAll(range(1, to));
+        return result;
+    }
+
+    /**
+     * Lists the persons whose birthdays come next, in O(count + log n) time.
+     * Persons having their birthday on the same day are listed in no particular order.
+     *
+     * @return up to count persons, in the order of their next birthday from today on; none if count is not positive
+     */
+    public synchronized List<Person> next(LocalDate today, int count) {
+        if (count <= 0) return new ArrayList<>();
+        final List<Person> result = new ArrayList<>(Math.min(count, size()));
+        final int from = toKey(MonthDay.from(today));
+        addUpTo(result, count, sorted().tailMap(from, true).values());
+        addUpTo(result, count, sorted().headMap(from, false).values());
+        return result;
+    }
+
+    private static void addUpTo(List<Person> result, int count, Collection<Set<Person>> entries) {
+        for (Set<Person> persons : entries) {
+            for (Person person : persons) {
+                if (result.size() >= count) return;
+                result.add(person);
+            }
+        }
+    }
+
+    private static int toKey(MonthDay day) {
+        return day.atYear(LEAP_YEAR).getDayOfYear();
+    }
+
+    /**
+     * @return the last key up to the date's day; 28 February also covers 29 February in years without it
+     */
+    private static int toEndKey(LocalDate date) {
+        final MonthDay day = MonthDay.from(date);
+        if (!date.isLeapYear() && day.equals(DAY_BEFORE_LEAP_DAY)) {
+            return toKey(LEAP_DAY);
+        }
+        return toKey(day);
+    }
+}
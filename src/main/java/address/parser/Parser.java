@@ -1,12 +1,18 @@
 package address.parser;
 
+import java.time.LocalDate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import address.parser.expr.AndExpr;
 import address.parser.expr.Expr;
 import address.parser.expr.PredExpr;
+import address.parser.qualifier.CityQualifier;
+import address.parser.qualifier.FuzzyNameQualifier;
+import address.parser.qualifier.GroupQualifier;
 import address.parser.qualifier.NameQualifier;
+import address.parser.qualifier.SoundsLikeQualifier;
+import address.parser.qualifier.UpcomingBirthdayQualifier;
 
 public class Parser {
 
@@ -39,8 +45,29 @@ public class Parser {
         switch (type) {
         case "name":
             return new PredExpr(new NameQualifier(content));
+        case "fuzzy":
+            return new PredExpr(new FuzzyNameQualifier(content));
+        case "sounds":
+            return new PredExpr(new SoundsLikeQualifier(content));
+        case "city":
+            return new PredExpr(new CityQualifier(content));
+        case "group":
+            return new PredExpr(new GroupQualifier(content));
+        case "upcoming":
+            return new PredExpr(new UpcomingBirthdayQualifier(parseDays(content), LocalDate.now()));
         default:
             throw new ParseException("Unrecognised qualifier " + type);
         }
     }
+
+    private static int parseDays(String content) throws ParseException {
+        final int days;
+        try {
+            days = Integer.parseInt(content);
+        } catch (NumberFormatException e) {
+            throw new ParseException("Number of days expected, but got '" + content + "'");
+        }
+        if (days < 0) throw new ParseException("Number of days cannot be negative, but got " + days);
+        return days;
+    }
 }
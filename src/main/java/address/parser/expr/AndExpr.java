@@ -1,6 +1,10 @@
 package address.parser.expr;
 
 import address.model.Person;
+import address.model.index.PersonIndexes;
+
+import java.util.Optional;
+import java.util.Set;
 
 public class AndExpr implements Expr {
 
@@ -16,4 +20,16 @@ public class AndExpr implements Expr {
     public boolean satisfies(Person person) {
         return left.satisfies(person) && right.satisfies(person);
     }
+
+    /**
+     * Either side's candidates are a superset of this expression's matches; the smaller one is used.
+     */
+    @Override
+    public Optional<Set<Person>> getCandidates(PersonIndexes indexes) {
+        final Optional<Set<Person>> leftCandidates = left.getCandidates(indexes);
+        final Optional<Set<Person>> rightCandidates = right.getCandidates(indexes);
+        if (!leftCandidates.isPresent()) return rightCandidates;
+        if (!rightCandidates.isPresent()) return leftCandidates;
+        return leftCandidates.get().size() <= rightCandidates.get().size() ? leftCandidates : rightCandidates;
+    }
 }
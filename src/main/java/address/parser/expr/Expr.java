@@ -1,7 +1,21 @@
 package address.parser.expr;
 
 import address.model.Person;
+import address.model.index.PersonIndexes;
+
+import java.util.Optional;
+import java.util.Set;
 
 public interface Expr {
     boolean satisfies(Person person);
+
+    /**
+     * Uses the indexes to narrow down the persons that may satisfy this expression.
+     *
+     * @return a superset of the persons satisfying this expression,
+     *         or an empty optional if the indexes cannot narrow it down
+     */
+    default Optional<Set<Person>> getCandidates(PersonIndexes indexes) {
+        return Optional.empty();
+    }
 }
@@ -1,9 +1,13 @@
 package address.parser.expr;
 
 import address.model.Person;
+import address.model.index.PersonIndexes;
 import address.parser.qualifier.Qualifier;
 import address.parser.qualifier.TrueQualifier;
 
+import java.util.Optional;
+import java.util.Set;
+
 public class PredExpr implements Expr {
 
     public static final PredExpr TRUE = new PredExpr(new TrueQualifier());
@@ -18,4 +22,9 @@ public class PredExpr implements Expr {
     public boolean satisfies(Person person) {
         return qualifier.run(person);
     }
+
+    @Override
+    public Optional<Set<Person>> getCandidates(PersonIndexes indexes) {
+        return qualifier.getCandidates(indexes);
+    }
 }
@@ -0,0 +1,29 @@
+package address.parser.qualifier;
+
+import address.model.Person;
+import address.model.index.PersonIndexes;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Matches persons living in the given city, ignoring case.
+ */
+public class CityQualifier implements Qualifier {
+
+    public final String city;
+
+    public CityQualifier(String city) {
+        this.city = city;
+    }
+
+    @Override
+    public boolean run(Person person) {
+        return person.getCity() != null && person.getCity().equalsIgnoreCase(city);
+    }
+
+    @Override
+    public Optional<Set<Person>> getCandidates(PersonIndexes indexes) {
+        return Optional.of(indexes.byCity().get(PersonIndexes.toKey(city)));
+    }
+}
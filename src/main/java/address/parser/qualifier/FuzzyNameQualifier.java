@@ -0,0 +1,46 @@
+package address.parser.qualifier;
+
+import address.model.Person;
+import address.model.index.FuzzyNameIndex;
+import address.model.index.PersonIndexes;
+import address.util.StringUtil;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Matches persons with a first or last name within a few typos of the given name.
+ * The number of typos tolerated grows with the length of the name, up to {@link #MAX_EDIT_DISTANCE}.
+ */
+public class FuzzyNameQualifier implements Qualifier {
+
+    public static final int MAX_EDIT_DISTANCE = 2;
+
+    public final String name;
+    public final int maxDistance;
+
+    public FuzzyNameQualifier(String name) {
+        this.name = name.toLowerCase();
+        this.maxDistance = getMaxDistance(name);
+    }
+
+    /**
+     * @return number of typos tolerated in a name of that length
+     */
+    public static int getMaxDistance(String name) {
+        if (name.length() <= 2) return 0;
+        if (name.length() <= 5) return 1;
+        return MAX_EDIT_DISTANCE;
+    }
+
+    @Override
+    public boolean run(Person person) {
+        return FuzzyNameIndex.getNameTerms(person).stream()
+                .anyMatch(term -> StringUtil.isWithinEditDistance(term, name, maxDistance));
+    }
+
+    @Override
+    public Optional<Set<Person>> getCandidates(PersonIndexes indexes) {
+        return Optional.of(indexes.byFuzzyName().find(name, maxDistance));
+    }
+}
@@ -0,0 +1,30 @@
+package address.parser.qualifier;
+
+import address.model.Person;
+import address.model.index.PersonIndexes;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Matches persons belonging to the given contact group, ignoring case.
+ */
+public class GroupQualifier implements Qualifier {
+
+    public final String group;
+
+    public GroupQualifier(String group) {
+        this.group = group;
+    }
+
+    @Override
+    public boolean run(Person person) {
+        return person.getContactGroupsCopy().stream()
+                .anyMatch(contactGroup -> contactGroup.getName().equalsIgnoreCase(group));
+    }
+
+    @Override
+    public Optional<Set<Person>> getCandidates(PersonIndexes indexes) {
+        return Optional.of(indexes.byGroup().get(PersonIndexes.toKey(group)));
+    }
+}
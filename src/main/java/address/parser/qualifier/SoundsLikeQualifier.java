@@ -0,0 +1,33 @@
+package address.parser.qualifier;
+
+import address.model.Person;
+import address.model.index.PersonIndexes;
+import address.util.Soundex;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Matches persons with a first or last name that sounds like the given name (by Soundex code),
+ * e.g. "Smyth" for "Smith".
+ */
+public class SoundsLikeQualifier implements Qualifier {
+
+    public final String name;
+    private final String phoneticKey;
+
+    public SoundsLikeQualifier(String name) {
+        this.name = name;
+        this.phoneticKey = Soundex.encode(name);
+    }
+
+    @Override
+    public boolean run(Person person) {
+        return !phoneticKey.isEmpty() && PersonIndexes.getPhoneticKeys(person).contains(phoneticKey);
+    }
+
+    @Override
+    public Optional<Set<Person>> getCandidates(PersonIndexes indexes) {
+        return Optional.of(indexes.byPhoneticName().get(phoneticKey));
+    }
+}
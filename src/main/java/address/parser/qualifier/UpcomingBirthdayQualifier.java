@@ -0,0 +1,35 @@
+package address.parser.qualifier;
+
+import address.model.Person;
+import address.model.index.PersonIndexes;
+import address.model.index.UpcomingBirthdayIndex;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Matches persons having their birthday today or within the given number of days after.
+ */
+public class UpcomingBirthdayQualifier implements Qualifier {
+
+    public final int days;
+    public final LocalDate today;
+
+    public UpcomingBirthdayQualifier(int days, LocalDate today) {
+        this.days = days;
+        this.today = today;
+    }
+
+    @Override
+    public boolean run(Person person) {
+        return person.getBirthday() != null
+                && !UpcomingBirthdayIndex.getNextBirthday(person.getBirthday(), today)
+                        .isAfter(today.plusDays(days));
+    }
+
+    @Override
+    public Optional<Set<Person>> getCandidates(PersonIndexes indexes) {
+        return Optional.of(indexes.byUpcomingBirthday().upcoming(today, days));
+    }
+}
@@ -7,17 +7,24 @@ import address.model.ContactGroup;
 import address.model.ModelManager;
 import address.model.Person;
 import address.preferences.PreferencesManager;
+import address.util.StartupProfiler;
+import address.util.StringDictionary;
 import address.util.XmlHelper;
 import com.google.common.eventbus.Subscribe;
+import javafx.application.Platform;
 
 import javax.xml.bind.JAXBException;
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 
 public class StorageManager {
 
     private ModelManager modelManager;
+    /** How well the strings of the data file last loaded were shared, or null if none was loaded */
+    private volatile String lastLoadStatistics;
 
     public StorageManager(ModelManager modelManager){
         this.modelManager = modelManager;
@@ -27,15 +34,88 @@ public class StorageManager {
     @Subscribe
     private void handleLoadDataRequestEvent(LoadDataRequestEvent ofe) {
         try {
-            AddressBookWrapper data = loadDataFromSaveFile(ofe.file);
-            PreferencesManager.getInstance().setPersonFilePath(ofe.file);
-            modelManager.updateUsingExternalData(data);
+            AddressBookWrapper data = loadDataFile(ofe.file);
+            useLoadedData(ofe.file, data);
         } catch (JAXBException | FileContainsDuplicatesException e) {
-            System.out.println(e);
-            EventManager.getInstance().post(new FileOpeningExceptionEvent(e, ofe.file));
+            reportLoadFailure(ofe.file, e);
         }
     }
 
+    /**
+     * Reads the data file on a background thread, then updates the model with it on the FX Application Thread,
+     * so that the file can be parsed while the UI is being built. Failures, including unexpected ones, are
+     * reported as for a LoadDataRequestEvent.
+     *
+     * @return completes once the model has been updated, or the failure reported; never fails
+     */
+    public CompletableFuture<Void> loadDataInBackground(File file) {
+        final StartupProfiler profiler = StartupProfiler.getInstance();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture.supplyAsync(() -> profiler.time("parse data file", () -> readDataFile(file)))
+                .whenComplete((useResult, error) -> Platform.runLater(() -> {
+                        try {
+                            if (error == null) {
+                                profiler.time("apply data", useResult);
+                            } else {
+                                reportLoadFailure(file, toException(error));
+                            }
+                        } catch (RuntimeException e) {
+                            reportLoadFailure(file, e);
+                        } finally {
+                            done.complete(null);
+                        }
+                    }));
+        return done;
+    }
+
+    /**
+     * @return the exception behind the failure of an asynchronous task
+     */
+    private static Exception toException(Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+        return cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+    }
+
+    /**
+     * @return what to do with the result on the FX Application Thread
+     */
+    private Runnable readDataFile(File file) {
+        try {
+            final AddressBookWrapper data = loadDataFile(file);
+            return () -> useLoadedData(file, data);
+        } catch (JAXBException | FileContainsDuplicatesException e) {
+            return () -> reportLoadFailure(file, e);
+        }
+    }
+
+    /**
+     * Reads the data file, noting how well its strings were shared.
+     */
+    private AddressBookWrapper loadDataFile(File file) throws JAXBException, FileContainsDuplicatesException {
+        final StringDictionary dictionary = new StringDictionary();
+        final AddressBookWrapper data = loadDataFromSaveFile(file, dictionary);
+        lastLoadStatistics = dictionary + " (" + file.getName() + ")";
+        return data;
+    }
+
+    /**
+     * @return how well the strings of the data file last loaded were shared, or null if none was loaded
+     */
+    public String getLastLoadStatistics() {
+        return lastLoadStatistics;
+    }
+
+    private void useLoadedData(File file, AddressBookWrapper data) {
+        PreferencesManager.getInstance().setPersonFilePath(file);
+        modelManager.updateUsingExternalData(data);
+    }
+
+    private void reportLoadFailure(File file, Exception cause) {
+        System.out.println(cause);
+        EventManager.getInstance().post(new FileOpeningExceptionEvent(cause, file));
+    }
+
     @Subscribe
     private void handleLocalModelChangedEvent(LocalModelChangedEvent lmce){
         final File targetFile = PreferencesManager.getInstance().getPersonFile();
@@ -75,8 +155,16 @@ public class StorageManager {
      * @return address book in the file or an empty address book
      */
     public static AddressBookWrapper loadDataFromSaveFile(File file) throws JAXBException, FileContainsDuplicatesException {
+        return loadDataFromSaveFile(file, new StringDictionary());
+    }
+
+    /**
+     * As {@link #loadDataFromSaveFile(File)}, sharing repeated strings through the given dictionary.
+     */
+    public static AddressBookWrapper loadDataFromSaveFile(File file, StringDictionary dictionary)
+            throws JAXBException, FileContainsDuplicatesException {
         assert file != null;
-        AddressBookWrapper data = XmlHelper.getDataFromFile(file);
+        AddressBookWrapper data = XmlHelper.getDataFromFile(file, dictionary);
         if (data.containsDuplicates()) throw new FileContainsDuplicatesException(file);
         return data;
     }
@@ -7,28 +7,39 @@ import address.util.XmlHelper;
 
 import javax.xml.bind.JAXBException;
 import java.io.File;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
+/**
+ * Simulates a cloud copy of the data that is changed by other parties between syncs, according to
+ * a {@link WorkloadProfile}. Delays are simulated through a {@link SimulationClock}.
+ */
 public class CloudSimulator {
-    private static final double FAILURE_PROBABILITY = 0.1;
 
-    private static final int MIN_DELAY_IN_SEC = 1;
-    private static final int DELAY_RANGE = 5;
+    private final WorkloadProfile profile;
+    private final SimulationClock clock;
+    private final Random random;
+    /** Guards the cloud file, which is read and written by syncs and pushes on different threads */
+    private final Object fileLock = new Object();
 
-    private static final double MODIFY_PERSON_PROBABILITY = 0.1;
-    private static final double ADD_PERSON_PROBABILITY = 0.05;
-    private static final int MAX_NUM_PERSONS_TO_ADD = 2;
+    public CloudSimulator(boolean isSimulateRandomChanges) {
+        this(isSimulateRandomChanges ? WorkloadProfile.standard() : WorkloadProfile.none(), SimulationClock.REAL);
+    }
+
+    public CloudSimulator(WorkloadProfile profile, SimulationClock clock) {
+        this.profile = profile;
+        this.clock = clock;
+        this.random = new Random(profile.getSeed());
+    }
 
-    private boolean isSimulateRandomChanges = false;
-    private static final Random RANDOM_GENERATOR = new Random();
+    public WorkloadProfile getProfile() {
+        return profile;
+    }
 
-    public CloudSimulator(boolean isSimulateRandomChanges) {
-        this.isSimulateRandomChanges = isSimulateRandomChanges;
+    public SimulationClock getClock() {
+        return clock;
     }
 
     /**
@@ -41,24 +52,29 @@ public class CloudSimulator {
         System.out.println("Simulating cloud data retrieval...");
         AddressBookWrapper modifiedData = new AddressBookWrapper();
         try {
-            AddressBookWrapper data = XmlHelper.getDataFromFile(cloudFile);
-            if (!this.isSimulateRandomChanges) {
-                return data;
+            final long latency;
+            synchronized (fileLock) {
+                AddressBookWrapper data = XmlHelper.getDataFromFile(cloudFile);
+                if (profile.isPassive()) {
+                    return data;
+                }
+
+                // no data could be retrieved
+                if (random.nextDouble() < profile.getFailureProbability()) {
+                    System.out.println("Cloud simulator: failure occurred! Could not retrieve data");
+                    AddressBookWrapper wrapper = new AddressBookWrapper();
+                    wrapper.setPersons(new ArrayList<>());
+                    wrapper.setGroups(new ArrayList<>());
+                    return wrapper;
+                }
+
+                modifiedData = simulateDataModification(data);
+                modifiedData.getPersons().addAll(simulateDataAddition());
+                simulateGroupChanges(modifiedData.getGroups());
+                XmlHelper.saveToFile(cloudFile, modifiedData.getPersons(), modifiedData.getGroups());
+                latency = profile.sampleLatencyMillis(random);
             }
-
-            // no data could be retrieved
-            if (RANDOM_GENERATOR.nextDouble() <= FAILURE_PROBABILITY) {
-                System.out.println("Cloud simulator: failure occurred! Could not retrieve data");
-                AddressBookWrapper wrapper = new AddressBookWrapper();
-                wrapper.setPersons(new ArrayList<>());
-                wrapper.setGroups(new ArrayList<>());
-                return wrapper;
-            }
-
-            modifiedData = simulateDataModification(data);
-            modifiedData.getPersons().addAll(simulateDataAddition());
-            XmlHelper.saveToFile(cloudFile, modifiedData.getPersons(), modifiedData.getGroups());
-            TimeUnit.SECONDS.sleep(RANDOM_GENERATOR.nextInt(DELAY_RANGE) + MIN_DELAY_IN_SEC);
+            clock.sleep(latency);
         } catch (JAXBException e) {
             System.out.println("File not found or is not in valid xml format : " + cloudFile);
         } catch (InterruptedException e) {
@@ -69,16 +85,16 @@ public class CloudSimulator {
 
     /**
      * Requests the simulated cloud to update its data with the given data. This data should be
-     * written to the provided mirror file
-     * @param delay Duration of delay in seconds to be simulated before the request is completed
+     * written to the provided mirror file. The request takes the push delay of the workload profile.
      */
-    public void requestChangesToCloud(File file, List<Person> people, List<ContactGroup> groups, int delay)
+    public void requestChangesToCloud(File file, List<Person> people, List<ContactGroup> groups)
             throws JAXBException {
         if (file == null) return;
-        List<Person> persons = people.stream().map(Person::new).collect(Collectors.toList());
-        XmlHelper.saveToFile(file, people, groups);
+        synchronized (fileLock) {
+            XmlHelper.saveToFile(file, people, groups);
+        }
         try {
-            TimeUnit.SECONDS.sleep(delay);
+            clock.sleep(profile.getPushDelayMillis());
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
@@ -87,10 +103,9 @@ public class CloudSimulator {
     private List<Person> simulateDataAddition() {
         List<Person> newData = new ArrayList<>();
 
-        for (int i = 0; i < MAX_NUM_PERSONS_TO_ADD; i++) {
-            if (RANDOM_GENERATOR.nextDouble() <= ADD_PERSON_PROBABILITY) {
-                Person person = new Person(java.util.UUID.randomUUID().toString(),
-                                           java.util.UUID.randomUUID().toString());
+        for (int i = 0; i < profile.getMaxPersonsToAdd(); i++) {
+            if (random.nextDouble() < profile.getAddPersonProbability()) {
+                Person person = new Person(randomText(), randomText());
                 System.out.println("Cloud simulator: adding " + person);
                 newData.add(person);
             }
@@ -101,7 +116,6 @@ public class CloudSimulator {
 
     /**
      * WARNING: MUTATES data ARGUMENT
-     * TODO: currently only modifies Persons
      *
      * @param data
      * @return the (possibly) modified argument addressbookwrapper
@@ -109,13 +123,20 @@ public class CloudSimulator {
     private AddressBookWrapper simulateDataModification(AddressBookWrapper data) {
         List<Person> modifiedData = new ArrayList<>();
 
-        // currently only modifies persons
         for (Person person : data.getPersons()) {
-            if (RANDOM_GENERATOR.nextDouble() <= MODIFY_PERSON_PROBABILITY) {
+            if (random.nextDouble() < profile.getDeletePersonProbability()) {
+                System.out.println("Cloud simulator: deleting " + person);
+                continue;
+            }
+            if (random.nextDouble() < profile.getModifyPersonProbability()) {
                 System.out.println("Cloud simulator: modifying " + person);
-                person.setCity(java.util.UUID.randomUUID().toString());
-                person.setStreet(java.util.UUID.randomUUID().toString());
-                person.setPostalCode(RANDOM_GENERATOR.nextInt(999999));
+                person.setCity(randomText());
+                person.setStreet(randomText());
+                person.setPostalCode(random.nextInt(999999));
+            }
+            if (random.nextDouble() < profile.getRenamePersonProbability()) {
+                System.out.println("Cloud simulator: renaming " + person);
+                person.setLastName(randomText());
             }
             modifiedData.add(person);
         }
@@ -123,4 +144,31 @@ public class CloudSimulator {
         data.setPersons(modifiedData);
         return data;
     }
+
+    /**
+     * WARNING: MUTATES groups ARGUMENT
+     */
+    private void simulateGroupChanges(List<ContactGroup> groups) {
+        if (!groups.isEmpty() && random.nextDouble() < profile.getDeleteGroupProbability()) {
+            final ContactGroup group = groups.remove(random.nextInt(groups.size()));
+            System.out.println("Cloud simulator: deleting " + group);
+        }
+        if (!groups.isEmpty() && random.nextDouble() < profile.getRenameGroupProbability()) {
+            final ContactGroup group = groups.get(random.nextInt(groups.size()));
+            System.out.println("Cloud simulator: renaming " + group);
+            group.setName(randomText());
+        }
+        if (random.nextDouble() < profile.getAddGroupProbability()) {
+            final ContactGroup group = new ContactGroup(randomText());
+            System.out.println("Cloud simulator: adding " + group);
+            groups.add(group);
+        }
+    }
+
+    /**
+     * @return text that is unique in practice, drawn from the seeded generator so that runs can be repeated
+     */
+    private String randomText() {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
 }
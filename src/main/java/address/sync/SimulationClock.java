@@ -0,0 +1,32 @@
+package address.sync;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time source of the cloud simulation. Simulated delays go through it, so that they can be skipped
+ * by using a {@link VirtualClock} instead of the real time.
+ */
+public interface SimulationClock {
+
+    /**
+     * The system clock; sleeping blocks the calling thread.
+     */
+    SimulationClock REAL = new SimulationClock() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public void sleep(long millis) throws InterruptedException {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        }
+    };
+
+    long currentTimeMillis();
+
+    /**
+     * Lets the given time pass.
+     */
+    void sleep(long millis) throws InterruptedException;
+}
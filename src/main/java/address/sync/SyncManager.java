@@ -11,10 +11,13 @@ import address.sync.task.CloudUpdateTask;
 import com.google.common.eventbus.Subscribe;
 
 import java.io.File;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 
 /**
@@ -25,15 +28,35 @@ public class SyncManager {
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
     private final ExecutorService requestExecutor = Executors.newCachedThreadPool();
 
+    private final AtomicInteger pendingPushCount = new AtomicInteger();
+
     private CloudSimulator cloudSimulator = new CloudSimulator(false);
 
     public SyncManager() {
         EventManager.getInstance().registerHandler(this);
     }
 
+    /**
+     * Creates a sync manager that only retrieves data from the given cloud, without pushing local model changes
+     * to it, e.g. for replaying its traffic.
+     * @param cloudSimulator the simulated cloud to sync with, e.g. one running on a {@link VirtualClock}
+     */
+    public SyncManager(CloudSimulator cloudSimulator) {
+        this.cloudSimulator = cloudSimulator;
+    }
+
     public void startSyncingData(long interval, boolean isSimulateRandomChanges) {
+        startSyncingData(interval, isSimulateRandomChanges ? WorkloadProfile.standard() : WorkloadProfile.none());
+    }
+
+    /**
+     * Starts syncing in real time with a cloud whose traffic follows the given profile.
+     * @param interval The period between updates, in seconds
+     */
+    public void startSyncingData(long interval, WorkloadProfile profile) {
         if (interval <= 0) return;
-        this.cloudSimulator = new CloudSimulator(isSimulateRandomChanges);
+        System.out.println("Syncing with " + profile);
+        this.cloudSimulator = new CloudSimulator(profile, SimulationClock.REAL);
         updatePeriodically(interval);
     }
 
@@ -44,30 +67,88 @@ public class SyncManager {
      * @param interval The period between updates
      */
     public void updatePeriodically(long interval) {
-        Runnable task = () -> {
-            try {
-                AddressBookWrapper mirrorData = getMirrorData();
-                EventManager.getInstance().post(new NewMirrorDataEvent(mirrorData));
-            } catch (FileContainsDuplicatesException e) {
-                // do not sync changes from mirror if duplicates found in mirror
-                System.out.println("Duplicate data found in mirror, cancelling sync...");
-            }
-        };
+        Runnable task = () -> fetchMirrorData(getMirrorFile()).ifPresent(mirrorData ->
+                EventManager.getInstance().post(new NewMirrorDataEvent(mirrorData)));
 
         int initialDelay = 0;
         scheduler.scheduleAtFixedRate(task, initialDelay, interval, TimeUnit.SECONDS);
     }
 
-    private AddressBookWrapper getMirrorData() throws FileContainsDuplicatesException {
+    /**
+     * Replays syncs with the simulated cloud at a fixed rate over a span of virtual time. A sync cycle takes
+     * as long as its simulated latency; a cycle that overruns the interval delays the next one, as with
+     * {@link #updatePeriodically(long)}. Runs as fast as the cycles can be processed, so hours of traffic
+     * can be replayed in seconds.
+     *
+     * @param clock the clock of the cloud simulator
+     * @param mirrorData receives the data of each successful sync, in place of the model
+     * @return the number of sync cycles run
+     */
+    public int replay(VirtualClock clock, File mirrorFile, long intervalMillis, long durationMillis,
+                      Consumer<AddressBookWrapper> mirrorData) {
+        assert cloudSimulator.getClock() == clock : "the cloud simulator must run on the clock being replayed";
+        assert intervalMillis > 0;
+        final long end = clock.currentTimeMillis() + durationMillis;
+        int cycles = 0;
+        while (clock.currentTimeMillis() < end) {
+            final long cycleStart = clock.currentTimeMillis();
+            fetchMirrorData(mirrorFile).ifPresent(mirrorData);
+            cycles++;
+            clock.advanceTo(cycleStart + intervalMillis);
+        }
+        return cycles;
+    }
+
+    private File getMirrorFile() {
+        return new File(PreferencesManager.getInstance().getPersonFile().toString() + "-mirror.xml");
+    }
+
+    /**
+     * @return the data retrieved from the cloud, or empty if it cannot be synced
+     */
+    private Optional<AddressBookWrapper> fetchMirrorData(File mirrorFile) {
+        try {
+            return Optional.of(getMirrorData(mirrorFile));
+        } catch (FileContainsDuplicatesException e) {
+            // do not sync changes from mirror if duplicates found in mirror
+            System.out.println("Duplicate data found in mirror, cancelling sync...");
+            return Optional.empty();
+        }
+    }
+
+    private AddressBookWrapper getMirrorData(File mirrorFile) throws FileContainsDuplicatesException {
         System.out.println("Updating data from cloud: " + System.nanoTime());
-        final File mirrorFile = new File(PreferencesManager.getInstance().getPersonFile().toString() + "-mirror.xml");
         final AddressBookWrapper data = cloudSimulator.getSimulatedCloudData(mirrorFile);
         if (data.containsDuplicates()) throw new FileContainsDuplicatesException(mirrorFile);
         return data;
     }
 
+    /**
+     * @return the number of local changes waiting to be pushed to the cloud, or being pushed
+     */
+    public int getPendingPushCount() {
+        return pendingPushCount.get();
+    }
+
+    /**
+     * Stops syncing, abandoning any pushes not yet made.
+     */
+    public void stopSyncing() {
+        scheduler.shutdownNow();
+        requestExecutor.shutdownNow();
+    }
+
     @Subscribe
     public void handleLocalModelChangedEvent(LocalModelChangedEvent lmce) {
-        requestExecutor.execute(new CloudUpdateTask(this.cloudSimulator, lmce.personData, lmce.groupData));
+        if (requestExecutor.isShutdown()) return;
+        final CloudUpdateTask task = new CloudUpdateTask(this.cloudSimulator, lmce.personData, lmce.groupData);
+        pendingPushCount.incrementAndGet();
+        requestExecutor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    pendingPushCount.decrementAndGet();
+                }
+            });
     }
 }
@@ -0,0 +1,45 @@
+package address.sync;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A simulated clock that only moves when told to. Sleeping advances the clock instead of blocking,
+ * so hours of simulated traffic pass in as long as it takes to process them.
+ *
+ * Meant to be driven from one thread: sleeps on other threads also advance the clock, as if they
+ * happened one after the other.
+ */
+public class VirtualClock implements SimulationClock {
+
+    private final AtomicLong now;
+
+    public VirtualClock(long startMillis) {
+        now = new AtomicLong(startMillis);
+    }
+
+    public VirtualClock() {
+        this(0);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now.get();
+    }
+
+    @Override
+    public void sleep(long millis) {
+        advance(millis);
+    }
+
+    public void advance(long millis) {
+        assert millis >= 0 : "time cannot go backwards";
+        now.addAndGet(millis);
+    }
+
+    /**
+     * Moves the clock to the given time, unless it is already past it.
+     */
+    public void advanceTo(long millis) {
+        now.accumulateAndGet(millis, Math::max);
+    }
+}
@@ -0,0 +1,276 @@
+package address.sync;
+
+import java.util.Random;
+
+/**
+ * The traffic generated by the {@link CloudSimulator}: how often, and in which ways, the cloud data is changed by
+ * other parties between syncs, how long requests take and how often they fail.
+ *
+ * Probabilities are per sync, except for modifying, renaming and deleting, which apply to each person.
+ * Runs with the same seed and the same starting data produce the same changes.
+ */
+public class WorkloadProfile {
+
+    /**
+     * How the latency of a retrieval is spread between the minimum and the maximum
+     */
+    public enum LatencyDistribution {
+        /** always the minimum */
+        FIXED,
+        /** equally likely anywhere between the minimum and the maximum */
+        UNIFORM,
+        /** mostly near the minimum with a long tail, averaging the mean, cut off at the maximum */
+        EXPONENTIAL
+    }
+
+    private long seed = new Random().nextLong();
+
+    private double failureProbability;
+
+    private double modifyPersonProbability;
+    private double renamePersonProbability;
+    private double deletePersonProbability;
+    private double addPersonProbability;
+    private int maxPersonsToAdd;
+
+    private double addGroupProbability;
+    private double renameGroupProbability;
+    private double deleteGroupProbability;
+
+    private LatencyDistribution latencyDistribution = LatencyDistribution.FIXED;
+    private long minLatencyMillis;
+    private long meanLatencyMillis;
+    private long maxLatencyMillis;
+    private long pushDelayMillis;
+
+    /**
+     * @return a profile with no changes, failures or delays, i.e. the cloud data is returned as stored
+     */
+    public static WorkloadProfile none() {
+        return new WorkloadProfile();
+    }
+
+    /**
+     * @return the profile used when random changes are simulated in the app: occasional edits of a person's
+     *         address and additions, one retrieval in ten fails, and requests take a few seconds
+     */
+    public static WorkloadProfile standard() {
+        final WorkloadProfile profile = new WorkloadProfile();
+        profile.setFailureProbability(0.1);
+        profile.setModifyPersonProbability(0.1);
+        profile.setAddPersonProbability(0.05);
+        profile.setMaxPersonsToAdd(2);
+        profile.setLatency(LatencyDistribution.UNIFORM, 1000, 3000, 5000);
+        profile.setPushDelayMillis(3000);
+        return profile;
+    }
+
+    /**
+     * @return a profile of many collaborators editing the data at once: all kinds of person and group edits,
+     *         on a fast but occasionally slow network
+     */
+    public static WorkloadProfile busyTeam() {
+        final WorkloadProfile profile = new WorkloadProfile();
+        profile.setFailureProbability(0.02);
+        profile.setModifyPersonProbability(0.05);
+        profile.setRenamePersonProbability(0.005);
+        profile.setDeletePersonProbability(0.002);
+        profile.setAddPersonProbability(0.5);
+        profile.setMaxPersonsToAdd(10);
+        profile.setAddGroupProbability(0.05);
+        profile.setRenameGroupProbability(0.05);
+        profile.setDeleteGroupProbability(0.02);
+        profile.setLatency(LatencyDistribution.EXPONENTIAL, 100, 400, 10000);
+        profile.setPushDelayMillis(500);
+        return profile;
+    }
+
+    /**
+     * @return a profile of little traffic over an unreliable network: many failures and long, varying latencies
+     */
+    public static WorkloadProfile flakyNetwork() {
+        final WorkloadProfile profile = new WorkloadProfile();
+        profile.setFailureProbability(0.3);
+        profile.setModifyPersonProbability(0.01);
+        profile.setAddPersonProbability(0.05);
+        profile.setMaxPersonsToAdd(1);
+        profile.setLatency(LatencyDistribution.EXPONENTIAL, 500, 3000, 30000);
+        profile.setPushDelayMillis(5000);
+        return profile;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public double getFailureProbability() {
+        return failureProbability;
+    }
+
+    /**
+     * @param failureProbability the chance that a retrieval fails, returning no data
+     */
+    public void setFailureProbability(double failureProbability) {
+        this.failureProbability = failureProbability;
+    }
+
+    public double getModifyPersonProbability() {
+        return modifyPersonProbability;
+    }
+
+    /**
+     * @param modifyPersonProbability the chance that a person's address is changed
+     */
+    public void setModifyPersonProbability(double modifyPersonProbability) {
+        this.modifyPersonProbability = modifyPersonProbability;
+    }
+
+    public double getRenamePersonProbability() {
+        return renamePersonProbability;
+    }
+
+    /**
+     * @param renamePersonProbability the chance that a person's last name is changed
+     */
+    public void setRenamePersonProbability(double renamePersonProbability) {
+        this.renamePersonProbability = renamePersonProbability;
+    }
+
+    public double getDeletePersonProbability() {
+        return deletePersonProbability;
+    }
+
+    /**
+     * @param deletePersonProbability the chance that a person is deleted
+     */
+    public void setDeletePersonProbability(double deletePersonProbability) {
+        this.deletePersonProbability = deletePersonProbability;
+    }
+
+    public double getAddPersonProbability() {
+        return addPersonProbability;
+    }
+
+    /**
+     * @param addPersonProbability the chance of each of up to {@link #getMaxPersonsToAdd()} persons being added
+     */
+    public void setAddPersonProbability(double addPersonProbability) {
+        this.addPersonProbability = addPersonProbability;
+    }
+
+    public int getMaxPersonsToAdd() {
+        return maxPersonsToAdd;
+    }
+
+    public void setMaxPersonsToAdd(int maxPersonsToAdd) {
+        this.maxPersonsToAdd = maxPersonsToAdd;
+    }
+
+    public double getAddGroupProbability() {
+        return addGroupProbability;
+    }
+
+    public void setAddGroupProbability(double addGroupProbability) {
+        this.addGroupProbability = addGroupProbability;
+    }
+
+    public double getRenameGroupProbability() {
+        return renameGroupProbability;
+    }
+
+    /**
+     * @param renameGroupProbability the chance that one of the groups is renamed
+     */
+    public void setRenameGroupProbability(double renameGroupProbability) {
+        this.renameGroupProbability = renameGroupProbability;
+    }
+
+    public double getDeleteGroupProbability() {
+        return deleteGroupProbability;
+    }
+
+    /**
+     * @param deleteGroupProbability the chance that one of the groups is deleted
+     */
+    public void setDeleteGroupProbability(double deleteGroupProbability) {
+        this.deleteGroupProbability = deleteGroupProbability;
+    }
+
+    public LatencyDistribution getLatencyDistribution() {
+        return latencyDistribution;
+    }
+
+    public long getMinLatencyMillis() {
+        return minLatencyMillis;
+    }
+
+    public long getMeanLatencyMillis() {
+        return meanLatencyMillis;
+    }
+
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    /**
+     * Sets how long a retrieval of the cloud data takes.
+     * @param meanMillis the average latency, used by {@link LatencyDistribution#EXPONENTIAL} only
+     */
+    public void setLatency(LatencyDistribution distribution, long minMillis, long meanMillis, long maxMillis) {
+        assert minMillis <= meanMillis && meanMillis <= maxMillis;
+        this.latencyDistribution = distribution;
+        this.minLatencyMillis = minMillis;
+        this.meanLatencyMillis = meanMillis;
+        this.maxLatencyMillis = maxMillis;
+    }
+
+    public long getPushDelayMillis() {
+        return pushDelayMillis;
+    }
+
+    /**
+     * @param pushDelayMillis how long a request to change the cloud data takes
+     */
+    public void setPushDelayMillis(long pushDelayMillis) {
+        this.pushDelayMillis = pushDelayMillis;
+    }
+
+    /**
+     * @return true if the cloud data is never changed, and retrievals never fail or take time
+     */
+    public boolean isPassive() {
+        return failureProbability == 0 && modifyPersonProbability == 0 && renamePersonProbability == 0
+                && deletePersonProbability == 0 && (addPersonProbability == 0 || maxPersonsToAdd == 0)
+                && addGroupProbability == 0 && renameGroupProbability == 0 && deleteGroupProbability == 0
+                && minLatencyMillis == 0 && maxLatencyMillis == 0;
+    }
+
+    /**
+     * @return the latency of a retrieval, drawn from the latency distribution
+     */
+    long sampleLatencyMillis(Random random) {
+        switch (latencyDistribution) {
+        case UNIFORM:
+            return minLatencyMillis + (long) (random.nextDouble() * (maxLatencyMillis - minLatencyMillis + 1));
+        case EXPONENTIAL:
+            final double extra = -Math.log(1 - random.nextDouble()) * (meanLatencyMillis - minLatencyMillis);
+            return Math.min(maxLatencyMillis, minLatencyMillis + (long) extra);
+        default:
+            return minLatencyMillis;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Workload profile (seed " + seed + ") : failures " + failureProbability
+                + ", person modify/rename/delete " + modifyPersonProbability + "/" + renamePersonProbability + "/"
+                + deletePersonProbability + ", person add " + addPersonProbability + " x" + maxPersonsToAdd
+                + ", group add/rename/delete " + addGroupProbability + "/" + renameGroupProbability + "/"
+                + deleteGroupProbability + ", latency " + latencyDistribution + " " + minLatencyMillis + "-"
+                + maxLatencyMillis + "ms, push delay " + pushDelayMillis + "ms";
+    }
+}
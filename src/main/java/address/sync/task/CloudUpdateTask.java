@@ -25,7 +25,7 @@ public class CloudUpdateTask implements Runnable {
         System.out.println("Requesting changes to the cloud: " + System.nanoTime());
         File mirrorFile = new File(PreferencesManager.getInstance().getPersonFile().toString() + "-mirror.xml");
         try {
-            simulator.requestChangesToCloud(mirrorFile, this.personsData, this.groupsData, 3);
+            simulator.requestChangesToCloud(mirrorFile, this.personsData, this.groupsData);
         } catch (JAXBException e) {
             System.out.println("Error requesting changes to the cloud");
         }
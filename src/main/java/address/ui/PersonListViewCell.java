@@ -4,17 +4,30 @@ import address.controller.PersonCardController;
 import address.model.Person;
 import javafx.scene.control.ListCell;
 
+/**
+ * A list cell showing a person as a card. The card layout is loaded once per cell, when the cell
+ * first shows a person, and is reused for whichever person the cell is recycled to show next.
+ * The card tracks edits to the person it shows, so the cell does not need to be rebuilt when the person changes.
+ */
 public class PersonListViewCell extends ListCell<Person> {
 
+    private PersonCardController card;
+
     @Override
     public void updateItem(Person person, boolean empty) {
         super.updateItem(person, empty);
         if (empty || person == null) {
+            if (card != null) {
+                card.setPerson(null);
+            }
             setGraphic(null);
             setText(null);
         } else {
-            setGraphic(new PersonCardController(person).getLayout());
+            if (card == null) {
+                card = new PersonCardController();
+            }
+            card.setPerson(person);
+            setGraphic(card.getLayout());
         }
     }
 }
-
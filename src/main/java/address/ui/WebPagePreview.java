@@ -0,0 +1,174 @@
+package address.ui;
+
+import address.util.Debouncer;
+import com.teamdev.jxbrowser.chromium.Browser;
+import com.teamdev.jxbrowser.chromium.javafx.BrowserView;
+import javafx.scene.Node;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Previews the web pages of the selected persons.
+ *
+ * Selection changes are debounced, so moving quickly through the list only loads the page the selection rests on.
+ * The most recently shown pages are kept rendered, each in its own browser, so going back to one of them is
+ * instant. When more pages are needed, the browser of the least recently shown page is reused. Loads that are
+ * still going when the selection moves on are stopped. The pages of the persons next to the selected one can
+ * also be loaded ahead of time.
+ *
+ * Pages are keyed by the text of their URL, as {@link URL#equals} resolves host names.
+ * Must be used on the JavaFX Application Thread.
+ */
+public class WebPagePreview {
+
+    public static final int DEFAULT_CAPACITY = 4;
+
+    /** Quiet period (in milliseconds) after the last selection change before the page is loaded */
+    private static final int SELECTION_DEBOUNCE_DELAY = 150;
+
+    private final int capacity;
+    private final Supplier<Browser> browserFactory;
+    private final Consumer<Node> display;
+    private final Debouncer selectionDebouncer = new Debouncer(SELECTION_DEBOUNCE_DELAY);
+
+    // least recently shown first
+    private final LinkedHashMap<String, Page> pages = new LinkedHashMap<>(16, 0.75f, true);
+    private final Deque<Page> sparePages = new ArrayDeque<>();
+    private boolean isPrefetchEnabled;
+
+    /**
+     * @param capacity the number of pages to keep rendered, including prefetched ones
+     * @param browserFactory creates a browser when none can be reused
+     * @param display shows the view of a page
+     */
+    public WebPagePreview(int capacity, Supplier<Browser> browserFactory, Consumer<Node> display) {
+        assert capacity > 0;
+        this.capacity = capacity;
+        this.browserFactory = browserFactory;
+        this.display = display;
+    }
+
+    /**
+     * Adds a browser that is not showing a page yet, to be used before any new one is created.
+     */
+    public void addSpareBrowser(Browser browser) {
+        sparePages.push(new Page(browser));
+    }
+
+    /**
+     * @param isPrefetchEnabled whether to load the pages of the persons next to the selected one ahead of time
+     */
+    public void setPrefetchEnabled(boolean isPrefetchEnabled) {
+        this.isPrefetchEnabled = isPrefetchEnabled;
+    }
+
+    /**
+     * Shows the page once the selection has stopped changing, superseding any earlier selection.
+     * @param neighbors the pages of the persons next to the selected one, to prefetch if enabled
+     */
+    public void select(URL url, Collection<URL> neighbors) {
+        if (url == null) return;
+        selectionDebouncer.call(() -> show(url, neighbors));
+    }
+
+    /**
+     * Shows the page at once.
+     */
+    public void show(URL url) {
+        selectionDebouncer.cancel();
+        show(url, null);
+    }
+
+    /**
+     * Shows the given content, e.g. a placeholder, in a browser that is not keeping a page.
+     */
+    public void showHtml(String html) {
+        selectionDebouncer.cancel();
+        if (sparePages.isEmpty()) {
+            addSpareBrowser(browserFactory.get());
+        }
+        final Page page = sparePages.peek();
+        page.browser.loadHTML(html);
+        display.accept(page.view);
+    }
+
+    private void show(URL url, Collection<URL> neighbors) {
+        final String key = url.toExternalForm();
+        final Set<String> prefetchKeys = isPrefetchEnabled && neighbors != null
+                ? neighbors.stream().filter(Objects::nonNull).map(URL::toExternalForm).collect(Collectors.toSet())
+                : null;
+        stopSupersededLoads(key, prefetchKeys);
+
+        display.accept(getOrLoad(key).view);
+        if (prefetchKeys != null) {
+            prefetchKeys.stream()
+                    .filter(prefetchKey -> !pages.containsKey(prefetchKey) && pages.size() < capacity)
+                    .forEach(this::getOrLoad);
+            // the shown page is the most recently used again, so that prefetching does not evict it
+            pages.get(key);
+        }
+    }
+
+    /**
+     * Stops the pages that are still loading but no longer wanted; they would not be worth keeping half-loaded.
+     */
+    private void stopSupersededLoads(String key, Set<String> prefetchKeys) {
+        final Iterator<Map.Entry<String, Page>> entries = pages.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<String, Page> entry = entries.next();
+            final boolean isWanted = entry.getKey().equals(key)
+                    || prefetchKeys != null && prefetchKeys.contains(entry.getKey());
+            if (!isWanted && entry.getValue().browser.isLoading()) {
+                System.out.println("Web page preview: stopping superseded load of " + entry.getKey());
+                entry.getValue().browser.stop();
+                entries.remove();
+                sparePages.push(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return the page, loading it into a spare or reused browser if it is not kept
+     */
+    private Page getOrLoad(String key) {
+        Page page = pages.get(key);
+        if (page != null) return page;
+
+        if (!sparePages.isEmpty()) {
+            page = sparePages.pop();
+        } else if (pages.size() >= capacity) {
+            final Iterator<Page> leastRecentlyShown = pages.values().iterator();
+            page = leastRecentlyShown.next();
+            leastRecentlyShown.remove();
+        } else {
+            page = new Page(browserFactory.get());
+        }
+        page.browser.loadURL(key);
+        pages.put(key, page);
+        return page;
+    }
+
+    /**
+     * A browser and its view, which are kept together as the view is costly to create.
+     */
+    private static class Page {
+        private final Browser browser;
+        private final BrowserView view;
+
+        Page(Browser browser) {
+            this.browser = browser;
+            this.view = new BrowserView(browser);
+        }
+    }
+}
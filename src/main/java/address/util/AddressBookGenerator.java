@@ -0,0 +1,332 @@
+package address.util;
+
+import address.model.ContactGroup;
+import address.model.Person;
+
+import javax.xml.bind.JAXBException;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Generates realistic address books of any size for load and scale testing. The same seed and settings
+ * always give the same book.
+ *
+ * Names are drawn with frequencies following Zipf's law, as real name frequencies roughly do; repeated
+ * combinations get middle initials so that every generated person is unique. Cities, streets and group
+ * memberships are also Zipf-distributed, and birthdays follow a plausible adult age distribution.
+ * A configurable fraction of persons are duplicates (same details, name in different case) or
+ * near-duplicates (a typo in the name, a different house number) of recently generated persons.
+ *
+ * Persons are generated one at a time, so books much larger than the heap can be streamed to a file.
+ * Memory use is bounded by the number of name combinations and the duplicate window.
+ */
+public class AddressBookGenerator {
+
+    private static final String[] FIRST_NAMES = {"Maria", "Peter", "Anna", "Daniel", "Thomas", "Sandra", "Martin",
+        "Ruth", "Hans", "Andreas", "Ursula", "Christian", "Elisabeth", "Stefan", "Monika", "Michael", "Barbara",
+        "Markus", "Nicole", "Marco", "Claudia", "Werner", "Karin", "David", "Susanne", "Bruno", "Esther",
+        "Patrick", "Cornelia", "Walter", "Andrea", "Urs", "Heidi", "Simon", "Lydia", "Beat", "Verena", "Lukas",
+        "Silvia", "Roger", "Regula", "Heinz", "Gabriela", "Reto", "Doris", "Fabian", "Marianne", "Kurt",
+        "Jacqueline", "Tobias", "Rosmarie", "Pascal", "Brigitte", "Adrian", "Yvonne", "Samuel", "Franziska",
+        "Roland", "Irene", "Florian"};
+    private static final String[] LAST_NAMES = {"Mueller", "Meier", "Schmid", "Keller", "Weber", "Huber",
+        "Schneider", "Meyer", "Steiner", "Fischer", "Gerber", "Brunner", "Baumann", "Frei", "Zimmermann",
+        "Moser", "Widmer", "Wyss", "Graf", "Roth", "Suter", "Baumgartner", "Bachmann", "Studer", "Bucher",
+        "Berger", "Kaufmann", "Hofmann", "Buehler", "Marti", "Kunz", "Lehmann", "Koch", "Beck", "Hofer",
+        "Schwarz", "Kurz", "Muster", "Best", "Egli", "Sutter", "Lang", "Vogel", "Wenger", "Arnold", "Kuhn",
+        "Hess", "Ammann", "Fuchs", "Hauser", "Zuercher", "Ott", "Kaiser", "Bieri", "Schaerer", "Wirth",
+        "Bosshard", "Flueckiger", "Aebischer", "Imhof", "Luethi", "Rueegg", "Stalder", "Tanner", "Vogt",
+        "Wolf", "Zbinden", "Zaugg", "Gasser", "Hug", "Jost", "Kohler", "Lanz", "Nussbaum", "Pfister", "Ritter",
+        "Sommer", "Thalmann", "Wagner", "Walser"};
+    private static final String[] CITY_NAMES = {"Zurich", "Geneva", "Basel", "Lausanne", "Bern", "Winterthur",
+        "Lucerne", "St. Gallen", "Lugano", "Biel", "Thun", "Koeniz", "La Chaux-de-Fonds", "Fribourg",
+        "Schaffhausen", "Chur", "Vernier", "Neuchatel", "Uster", "Sion", "Lancy", "Emmen", "Yverdon", "Zug",
+        "Kriens", "Rapperswil", "Duebendorf", "Dietikon", "Montreux", "Frauenfeld", "Wetzikon", "Baar",
+        "Meyrin", "Wil", "Bulle", "Carouge", "Kreuzlingen", "Aarau", "Riehen", "Allschwil"};
+    private static final String[] CITY_PREFIXES = {"Ober", "Unter", "Nieder", "Neu", "Alt", "Bad ", "Hinter",
+        "Vorder"};
+    private static final String[] STREET_NAMES = {"Bahnhofstrasse", "Hauptstrasse", "Dorfstrasse",
+        "Schulstrasse", "Kirchweg", "Seestrasse", "Gartenstrasse", "Industriestrasse", "Poststrasse",
+        "Bergstrasse", "Rosenweg", "Birkenweg", "Lindenstrasse", "Muehleweg", "Feldstrasse", "Waldstrasse",
+        "Sonnenbergstrasse", "Rebbergstrasse", "Bachstrasse", "Oberdorfstrasse"};
+    private static final String[] GROUP_NAMES = {"friends", "family", "colleagues", "neighbours", "relatives",
+        "football", "book club", "alumni", "choir", "hiking", "chess club", "parents", "gym", "volunteers"};
+    /** Probability of a person belonging to 0, 1, 2, ... groups */
+    private static final double[] GROUP_COUNT_PROBABILITIES = {0.40, 0.35, 0.18, 0.07};
+
+    /** Birthdays are relative to this date rather than today, so that books do not depend on the date */
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2016, 1, 1);
+    private static final int MIN_AGE = 18;
+    private static final int MAX_AGE = 90;
+    /** Number of recent persons that duplicates are made of */
+    private static final int DUPLICATE_WINDOW = 1000;
+
+    private final Random random;
+    private int numCities = 500;
+    private int numGroups = 30;
+    private double duplicateRate = 0.0;
+    private double nearDuplicateRate = 0.0;
+
+    private boolean isStarted;
+    private ZipfDistribution firstNames;
+    private ZipfDistribution lastNames;
+    private ZipfDistribution cities;
+    private ZipfDistribution streets;
+    private ZipfDistribution houseNumbers;
+    private ZipfDistribution groupRanks;
+    private List<ContactGroup> groups;
+    /** Number of persons generated so far for each first/last name combination */
+    private int[] nameCounts;
+
+    private final Person[] recent = new Person[DUPLICATE_WINDOW];
+    private final boolean[] isDuplicated = new boolean[DUPLICATE_WINDOW];
+    private final boolean[] isNearDuplicated = new boolean[DUPLICATE_WINDOW];
+    private int numOriginals;
+
+    public AddressBookGenerator(long seed) {
+        random = new Random(seed);
+    }
+
+    public void setNumCities(int numCities) {
+        assert !isStarted : "settings must be made before generating";
+        this.numCities = numCities;
+    }
+
+    public void setNumGroups(int numGroups) {
+        assert !isStarted : "settings must be made before generating";
+        this.numGroups = numGroups;
+    }
+
+    /**
+     * @param duplicateRate fraction of persons that repeat an earlier person with the name in a different case
+     */
+    public void setDuplicateRate(double duplicateRate) {
+        assert !isStarted : "settings must be made before generating";
+        this.duplicateRate = duplicateRate;
+    }
+
+    /**
+     * @param nearDuplicateRate fraction of persons that repeat an earlier person with a typo in the name
+     */
+    public void setNearDuplicateRate(double nearDuplicateRate) {
+        assert !isStarted : "settings must be made before generating";
+        this.nearDuplicateRate = nearDuplicateRate;
+    }
+
+    /**
+     * @return the groups that generated persons belong to (the same instances)
+     */
+    public List<ContactGroup> getGroups() {
+        start();
+        return Collections.unmodifiableList(groups);
+    }
+
+    /**
+     * @return the next person of the book
+     */
+    public Person next() {
+        start();
+        final double draw = random.nextDouble();
+        Person person = null;
+        if (draw < duplicateRate) {
+            person = createDuplicate(false);
+        } else if (draw < duplicateRate + nearDuplicateRate) {
+            person = createDuplicate(true);
+        }
+        return person == null ? createOriginal() : person;
+    }
+
+    /**
+     * @return the next count persons, generated as they are iterated over
+     */
+    public Iterator<Person> persons(int count) {
+        return new Iterator<Person>() {
+            private int remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public Person next() {
+                if (remaining == 0) throw new NoSuchElementException();
+                remaining--;
+                return AddressBookGenerator.this.next();
+            }
+        };
+    }
+
+    /**
+     * @return the next count persons
+     */
+    public List<Person> generatePersons(int count) {
+        final List<Person> persons = new ArrayList<>(count);
+        persons(count).forEachRemaining(persons::add);
+        return persons;
+    }
+
+    /**
+     * Streams a book of the groups and the next count persons to an XML file.
+     */
+    public void writeToFile(File file, int count) throws JAXBException, IOException {
+        XmlHelper.streamToFile(file, getGroups(), persons(count));
+    }
+
+    private void start() {
+        if (isStarted) return;
+        isStarted = true;
+        firstNames = new ZipfDistribution(FIRST_NAMES.length, 1.0);
+        lastNames = new ZipfDistribution(LAST_NAMES.length, 1.0);
+        cities = new ZipfDistribution(numCities, 1.0);
+        streets = new ZipfDistribution(STREET_NAMES.length, 0.8);
+        houseNumbers = new ZipfDistribution(200, 0.6);
+        groupRanks = new ZipfDistribution(numGroups, 1.0);
+        nameCounts = new int[FIRST_NAMES.length * LAST_NAMES.length];
+        groups = new ArrayList<>(numGroups);
+        for (int i = 0; i < numGroups; i++) {
+            groups.add(new ContactGroup(i < GROUP_NAMES.length ? GROUP_NAMES[i] : "project " + i));
+        }
+    }
+
+    private Person createOriginal() {
+        final int firstName = firstNames.sample(random);
+        final int lastName = lastNames.sample(random);
+        final int repeat = nameCounts[firstName * LAST_NAMES.length + lastName]++;
+        final Person person = new Person(FIRST_NAMES[firstName] + getMiddleInitials(repeat), LAST_NAMES[lastName]);
+
+        final int city = cities.sample(random);
+        person.setCity(getCityName(city));
+        person.setPostalCode(1000 + (city * 37) % 9000 + (city < 10 ? random.nextInt(10) : 0));
+        person.setStreet(STREET_NAMES[streets.sample(random)] + " " + (houseNumbers.sample(random) + 1));
+        // the mean of two uniform draws peaks in middle age, like an adult population
+        final double age = MIN_AGE + (random.nextDouble() + random.nextDouble()) / 2 * (MAX_AGE - MIN_AGE);
+        person.setBirthday(REFERENCE_DATE.minusDays((long) (age * 365.25)));
+        person.setContactGroups(pickGroups());
+
+        final int slot = numOriginals++ % DUPLICATE_WINDOW;
+        recent[slot] = person;
+        isDuplicated[slot] = false;
+        isNearDuplicated[slot] = false;
+        return person;
+    }
+
+    /**
+     * @return a duplicate of a recent person that has no such duplicate yet, or null if the chosen one has
+     */
+    private Person createDuplicate(boolean isNear) {
+        if (numOriginals == 0) return null;
+        final int slot = random.nextInt(Math.min(numOriginals, DUPLICATE_WINDOW));
+        final boolean[] isUsed = isNear ? isNearDuplicated : isDuplicated;
+        if (isUsed[slot]) return null;
+        isUsed[slot] = true;
+
+        final Person original = recent[slot];
+        final Person duplicate = new Person(original);
+        if (!isNear) {
+            duplicate.setFirstName(original.getFirstName().toLowerCase());
+            duplicate.setLastName(original.getLastName().toLowerCase());
+            return duplicate;
+        }
+        // a typo in the first name (keeping any initials) or the last name, which cannot spell another name
+        if (random.nextBoolean()) {
+            final String firstName = original.getFirstName();
+            final int initials = firstName.indexOf(' ');
+            final String baseName = initials < 0 ? firstName : firstName.substring(0, initials);
+            final String suffix = initials < 0 ? "" : firstName.substring(initials);
+            duplicate.setFirstName(swapAdjacentLetters(baseName) + suffix);
+        } else {
+            duplicate.setLastName(swapAdjacentLetters(original.getLastName()));
+        }
+        duplicate.setStreet(STREET_NAMES[streets.sample(random)] + " " + (houseNumbers.sample(random) + 1));
+        return duplicate;
+    }
+
+    /**
+     * Swaps two adjacent, differing letters, as a typist might.
+     */
+    private String swapAdjacentLetters(String name) {
+        final char[] letters = name.toCharArray();
+        final int start = random.nextInt(letters.length - 1);
+        for (int i = 0; i < letters.length - 1; i++) {
+            final int position = (start + i) % (letters.length - 1);
+            if (letters[position] != letters[position + 1]) {
+                final char swapped = letters[position];
+                letters[position] = letters[position + 1];
+                letters[position + 1] = swapped;
+                break;
+            }
+        }
+        return new String(letters);
+    }
+
+    private List<ContactGroup> pickGroups() {
+        double draw = random.nextDouble();
+        int count = 0;
+        while (count < GROUP_COUNT_PROBABILITIES.length - 1 && draw >= GROUP_COUNT_PROBABILITIES[count]) {
+            draw -= GROUP_COUNT_PROBABILITIES[count];
+            count++;
+        }
+        final List<ContactGroup> picked = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final ContactGroup group = groups.get(groupRanks.sample(random));
+            if (!picked.contains(group)) {
+                picked.add(group);
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * @return "" for the first person of a name, then " A.", " B.", ..., " Z.", " AA.", ...
+     */
+    private static String getMiddleInitials(int repeat) {
+        if (repeat == 0) return "";
+        final StringBuilder initials = new StringBuilder(".");
+        for (int n = repeat; n > 0; n = (n - 1) / 26) {
+            initials.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return " " + initials;
+    }
+
+    private static String getCityName(int city) {
+        if (city < CITY_NAMES.length) return CITY_NAMES[city];
+        final int variant = city / CITY_NAMES.length - 1;
+        final String prefix = CITY_PREFIXES[variant % CITY_PREFIXES.length];
+        final String baseName = CITY_NAMES[city % CITY_NAMES.length];
+        final String name = prefix + (prefix.endsWith(" ") ? baseName : baseName.toLowerCase());
+        return variant < CITY_PREFIXES.length ? name : name + " " + (variant / CITY_PREFIXES.length + 1);
+    }
+
+    /**
+     * Draws ranks 0 to n - 1 with probability proportional to 1 / (rank + 1)^exponent.
+     */
+    private static class ZipfDistribution {
+        private final double[] cumulative;
+
+        ZipfDistribution(int n, double exponent) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int rank = 0; rank < n; rank++) {
+                total += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = total;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cumulative[rank] /= total;
+            }
+        }
+
+        int sample(Random random) {
+            final int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+        }
+    }
+}
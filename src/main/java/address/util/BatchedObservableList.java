@@ -0,0 +1,123 @@
+package address.util;
+
+import javafx.collections.ModifiableObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An observable array list that can report a batch of modifications to its listeners as a single change.
+ */
+public class BatchedObservableList<E> extends ModifiableObservableListBase<E> {
+
+    private final List<E> elements = new ArrayList<>();
+    /** Elements changed in place, to be reported when the outermost batch ends */
+    private final Set<E> updated = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int batchDepth;
+
+    public BatchedObservableList() {
+    }
+
+    public BatchedObservableList(Collection<? extends E> initialElements) {
+        elements.addAll(initialElements);
+    }
+
+    /**
+     * Runs the modifications, notifying listeners once after all of them with a single change
+     * (one sub-change per modified range).
+     * Batches may be nested; listeners are notified when the outermost batch ends.
+     */
+    public void batch(Runnable modifications) {
+        beginChange();
+        batchDepth++;
+        try {
+            modifications.run();
+        } finally {
+            batchDepth--;
+            if (batchDepth == 0) {
+                reportUpdates();
+            }
+            endChange();
+        }
+    }
+
+    /**
+     * Reports an element whose state has changed in place to listeners as an update.
+     * Within a batch, the update is reported with the batch's change.
+     * Finding the element's position takes O(n) time, once per batch.
+     */
+    public void update(E element) {
+        updated.add(element);
+        if (batchDepth > 0) return;
+        beginChange();
+        try {
+            reportUpdates();
+        } finally {
+            endChange();
+        }
+    }
+
+    private void reportUpdates() {
+        if (updated.isEmpty()) return;
+        for (int i = 0; i < elements.size(); i++) {
+            if (updated.contains(elements.get(i))) {
+                nextUpdate(i);
+            }
+        }
+        updated.clear();
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    protected void doAdd(int index, E element) {
+        elements.add(index, element);
+    }
+
+    @Override
+    protected E doSet(int index, E element) {
+        return elements.set(index, element);
+    }
+
+    @Override
+    protected E doRemove(int index) {
+        return elements.remove(index);
+    }
+
+    @Override
+    public void clear() {
+        if (!isEmpty()) {
+            removeRange(0, size());
+        }
+    }
+
+    /**
+     * Removes the range from the backing list in one go, reported as a single removal.
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) return;
+        final List<E> range = elements.subList(fromIndex, toIndex);
+        final List<E> removed = new ArrayList<>(range);
+        beginChange();
+        try {
+            range.clear();
+            modCount++;
+            nextRemove(fromIndex, removed);
+        } finally {
+            endChange();
+        }
+    }
+}
@@ -7,4 +7,8 @@ public class Config {
     public String appTitle = "Address App";
     public long updateInterval = 5;
     public boolean isSimulateRandomChanges = false;
+    /** Loads data while the UI is built, creates the browser on first use and syncs only after the first paint */
+    public boolean isFastStart = false;
+    /** Loads the web pages of the persons next to the selected one ahead of time */
+    public boolean isPrefetchNeighborPages = false;
 }
@@ -0,0 +1,50 @@
+package address.util;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs an action on the JavaFX Application Thread only after calls to it have stopped
+ * arriving for a given quiet period. Each call supersedes (and cancels) the previous pending one.
+ */
+public class Debouncer {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "debouncer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    private final long delay;
+    private ScheduledFuture<?> pending;
+
+    /**
+     * @param delay quiet period in milliseconds
+     */
+    public Debouncer(long delay) {
+        this.delay = delay;
+    }
+
+    /**
+     * Schedules the action to be run after the quiet period, replacing any action still pending.
+     * @param action to be run on the JavaFX Application Thread
+     */
+    public synchronized void call(Runnable action) {
+        cancel();
+        pending = SCHEDULER.schedule(() -> Platform.runLater(action), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Discards the pending action, if any.
+     */
+    public synchronized void cancel() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+}
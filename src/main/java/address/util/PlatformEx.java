@@ -1,5 +1,6 @@
 package address.util;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 
 import java.util.concurrent.CountDownLatch;
@@ -80,6 +81,27 @@ public final class PlatformEx {
         runLaterAndWait(action);
     }
 
+    /**
+     * Runs an action on the JavaFX Application Thread once the next frame has been rendered, e.g. to defer
+     * work until a newly shown window has been painted. Must be called on the JavaFX Application Thread.
+     *
+     * @param action The action to run after the next frame
+     */
+    public static void runAfterNextFrame(Runnable action) {
+        assert Platform.isFxApplicationThread();
+        new AnimationTimer() {
+            // called at the start of each pulse; the frame of the first pulse is rendered before the second
+            private int pulses;
+
+            @Override
+            public void handle(long now) {
+                if (++pulses < 2) return;
+                stop();
+                action.run();
+            }
+        }.start();
+    }
+
     private PlatformEx() {
     }
 }
@@ -0,0 +1,45 @@
+package address.util;
+
+/**
+ * American Soundex encoding of names, so that names which sound alike (e.g. "Smith" and "Smyth")
+ * get the same code.
+ */
+public class Soundex {
+
+    /** Soundex digit of each letter from A to Z; '0' for letters that are not coded */
+    private static final String CODES = "01230120022455012623010202";
+    private static final int CODE_LENGTH = 4;
+
+    /**
+     * @return the four-character Soundex code of the name (e.g. "S530"),
+     *         or an empty string if the name contains no letters
+     */
+    public static String encode(String name) {
+        if (name == null) return "";
+        final char[] code = new char[CODE_LENGTH];
+        int length = 0;
+        char previousDigit = 0;
+        for (int i = 0; i < name.length() && length < CODE_LENGTH; i++) {
+            final char letter = Character.toUpperCase(name.charAt(i));
+            if (letter < 'A' || letter > 'Z') continue;
+            final char digit = CODES.charAt(letter - 'A');
+            if (length == 0) {
+                code[length++] = letter;
+            } else if (digit != '0' && digit != previousDigit) {
+                code[length++] = digit;
+            }
+            // H and W do not separate letters with the same code; vowels do
+            if (letter != 'H' && letter != 'W') {
+                previousDigit = digit;
+            }
+        }
+        if (length == 0) return "";
+        while (length < CODE_LENGTH) {
+            code[length++] = '0';
+        }
+        return new String(code);
+    }
+
+    private Soundex() {
+    }
+}
@@ -0,0 +1,80 @@
+package address.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records how long the phases of starting the app take, and when milestones such as the first paint are reached.
+ * Phases may run in parallel, on any thread. Times are measured from the start of the JVM.
+ */
+public class StartupProfiler {
+
+    private static StartupProfiler instance;
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final List<String> entries = new ArrayList<>();
+    private boolean isReported;
+
+    public static synchronized StartupProfiler getInstance() {
+        if (instance == null) {
+            instance = new StartupProfiler();
+        }
+        return instance;
+    }
+
+    /**
+     * Runs a phase of the startup, recording when it started and how long it took.
+     */
+    public <T> T time(String phase, Supplier<T> action) {
+        final long startMillis = sinceJvmStartMillis();
+        final long startNanos = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            final long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            record(String.format("%6dms %-24s took %dms (%s)", startMillis, phase, durationMillis,
+                                 Thread.currentThread().getName()));
+        }
+    }
+
+    public void time(String phase, Runnable action) {
+        time(phase, () -> {
+                action.run();
+                return null;
+            });
+    }
+
+    /**
+     * Records that a milestone has been reached.
+     */
+    public void mark(String milestone) {
+        record(String.format("%6dms %s", sinceJvmStartMillis(), milestone));
+    }
+
+    /**
+     * @return the phases and milestones recorded so far, in the order they ended
+     */
+    public synchronized String getReport() {
+        return "Startup profile:\n" + String.join("\n", entries);
+    }
+
+    /**
+     * Prints the report, once.
+     */
+    public synchronized void report() {
+        if (isReported) return;
+        isReported = true;
+        System.out.println(getReport());
+    }
+
+    private synchronized void record(String entry) {
+        entries.add(entry);
+    }
+
+    private long sinceJvmStartMillis() {
+        return System.currentTimeMillis() - jvmStartMillis;
+    }
+}
@@ -0,0 +1,82 @@
+package address.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Replaces equal strings by a single shared instance, like {@link String#intern()} but scoped to
+ * one dictionary (e.g. one address book being loaded) so the strings can be collected along with it.
+ *
+ * Keeps count of how often a string was found already present, and the heap that sharing saved.
+ */
+public class StringDictionary {
+
+    private final Map<String, String> entries = new HashMap<>();
+    private long hits;
+    private long misses;
+    private long bytesSaved;
+
+    /**
+     * @return the dictionary's instance equal to text, which becomes that instance if there is none yet.
+     *         Null for null.
+     */
+    public synchronized String intern(String text) {
+        if (text == null) return null;
+        final String existing = entries.putIfAbsent(text, text);
+        if (existing == null) {
+            misses++;
+            return text;
+        }
+        if (existing != text) {
+            bytesSaved += getRetainedSize(text);
+        }
+        hits++;
+        return existing;
+    }
+
+    /**
+     * @return approximate heap retained by a string of its own: the String object and its character
+     *         array, with 8-byte alignment and compressed references
+     */
+    public static long getRetainedSize(String text) {
+        final long stringObject = 24;
+        final long charArray = (16 + 2L * text.length() + 7) / 8 * 8;
+        return stringObject + charArray;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return fraction of lookups that found the string already present
+     */
+    public synchronized double getHitRate() {
+        final long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return approximate heap freed by replacing duplicate strings with the shared instance
+     */
+    public synchronized long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    /**
+     * @return number of distinct strings held
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("String dictionary: %d distinct strings, %d lookups, %.1f%% hit rate, %d bytes saved",
+                             entries.size(), hits + misses, getHitRate() * 100, bytesSaved);
+    }
+}
@@ -7,4 +7,105 @@ public class StringUtil {
     public static boolean containsIgnoreCase(String source, String query) {
         return source.toLowerCase().contains(query.toLowerCase());
     }
+
+    /**
+     * @return the Levenshtein distance between the two strings, i.e. the minimum number of
+     *         single character insertions, deletions and substitutions to turn one into the other
+     */
+    public static int editDistance(String first, String second) {
+        int[] previousRow = new int[second.length() + 1];
+        int[] currentRow = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previousRow[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            currentRow[0] = i;
+            for (int j = 1; j <= second.length(); j++) {
+                final int substitutionCost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                currentRow[j] = Math.min(Math.min(currentRow[j - 1] + 1, previousRow[j] + 1),
+                                         previousRow[j - 1] + substitutionCost);
+            }
+            final int[] swap = previousRow;
+            previousRow = currentRow;
+            currentRow = swap;
+        }
+        return previousRow[second.length()];
+    }
+
+    /**
+     * Checks whether the edit distance between the two strings is at most maxDistance.
+     * Gives up as soon as that is known to be impossible.
+     */
+    public static boolean isWithinEditDistance(String first, String second, int maxDistance) {
+        if (Math.abs(first.length() - second.length()) > maxDistance) return false;
+        int[] previousRow = new int[second.length() + 1];
+        int[] currentRow = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previousRow[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            currentRow[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= second.length(); j++) {
+                final int substitutionCost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                currentRow[j] = Math.min(Math.min(currentRow[j - 1] + 1, previousRow[j] + 1),
+                                         previousRow[j - 1] + substitutionCost);
+                rowMinimum = Math.min(rowMinimum, currentRow[j]);
+            }
+            if (rowMinimum > maxDistance) return false;
+            final int[] swap = previousRow;
+            previousRow = currentRow;
+            currentRow = swap;
+        }
+        return previousRow[second.length()] <= maxDistance;
+    }
+
+    /**
+     * @return the Jaro-Winkler similarity of the two strings, from 0 (nothing in common) to 1 (equal).
+     *         Favours strings that share a prefix, which suits short strings such as names.
+     */
+    public static double jaroWinklerSimilarity(String first, String second) {
+        if (first.equals(second)) return 1.0;
+        if (first.isEmpty() || second.isEmpty()) return 0.0;
+
+        final int matchWindow = Math.max(0, Math.max(first.length(), second.length()) / 2 - 1);
+        final boolean[] firstMatched = new boolean[first.length()];
+        final boolean[] secondMatched = new boolean[second.length()];
+        int matches = 0;
+        for (int i = 0; i < first.length(); i++) {
+            final int from = Math.max(0, i - matchWindow);
+            final int to = Math.min(second.length() - 1, i + matchWindow);
+            for (int j = from; j <= to; j++) {
+                if (!secondMatched[j] && first.charAt(i) == second.charAt(j)) {
+                    firstMatched[i] = true;
+                    secondMatched[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) return 0.0;
+
+        int transpositions = 0;
+        int j = 0;
+        for (int i = 0; i < first.length(); i++) {
+            if (!firstMatched[i]) continue;
+            while (!secondMatched[j]) {
+                j++;
+            }
+            if (first.charAt(i) != second.charAt(j)) {
+                transpositions++;
+            }
+            j++;
+        }
+        final double jaro = ((double) matches / first.length() + (double) matches / second.length()
+                + (matches - transpositions / 2.0) / matches) / 3.0;
+
+        int prefixLength = 0;
+        while (prefixLength < 4 && prefixLength < Math.min(first.length(), second.length())
+                && first.charAt(prefixLength) == second.charAt(prefixLength)) {
+            prefixLength++;
+        }
+        return jaro + prefixLength * 0.1 * (1.0 - jaro);
+    }
 }
@@ -5,10 +5,20 @@ import address.model.Person;
 import address.model.AddressBookWrapper;
 
 import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -16,9 +26,29 @@ import java.util.List;
  */
 public class XmlHelper {
 
+    /**
+     * Reads an address book, sharing repeated strings within it through a dictionary of its own.
+     */
     public static AddressBookWrapper getDataFromFile(File file) throws JAXBException {
+        return getDataFromFile(file, new StringDictionary());
+    }
+
+    /**
+     * Reads an address book, replacing the strings in it by equal ones from the dictionary as they are read.
+     */
+    public static AddressBookWrapper getDataFromFile(File file, StringDictionary dictionary) throws JAXBException {
         JAXBContext context = JAXBContext.newInstance(AddressBookWrapper.class);
         Unmarshaller um = context.createUnmarshaller();
+        um.setListener(new Unmarshaller.Listener() {
+            @Override
+            public void afterUnmarshal(Object target, Object parent) {
+                if (target instanceof Person) {
+                    ((Person) target).internStrings(dictionary);
+                } else if (target instanceof ContactGroup) {
+                    ((ContactGroup) target).internStrings(dictionary);
+                }
+            }
+        });
 
         // Reading XML from the file and unmarshalling.
         return ((AddressBookWrapper) um.unmarshal(file));
@@ -38,4 +68,32 @@ public class XmlHelper {
         // Marshalling and saving XML to the file.
         m.marshal(wrapper, file);
     }
+
+    /**
+     * Saves an address book in the same format as {@link #saveToFile}, writing each person as it is taken
+     * from the iterator, so the persons need not all be in memory at once.
+     */
+    public static void streamToFile(File file, List<ContactGroup> groupData, Iterator<Person> persons)
+            throws JAXBException, IOException {
+        JAXBContext context = JAXBContext.newInstance(AddressBookWrapper.class);
+        Marshaller m = context.createMarshaller();
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("addressbook");
+            for (ContactGroup group : groupData) {
+                m.marshal(new JAXBElement<>(new QName("groups"), ContactGroup.class, group), writer);
+            }
+            while (persons.hasNext()) {
+                m.marshal(new JAXBElement<>(new QName("persons"), Person.class, persons.next()), writer);
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new JAXBException(e);
+        }
+    }
 }
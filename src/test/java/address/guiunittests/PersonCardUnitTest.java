@@ -0,0 +1,75 @@
+package address.guiunittests;
+
+import address.controller.PersonCardController;
+import address.model.ContactGroup;
+import address.model.Person;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.stage.Stage;
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class PersonCardUnitTest extends ApplicationTest {
+    private PersonCardController card;
+    private Person hans;
+    private Person ruth;
+    private ContactGroup friends;
+
+    @Override
+    public void start(Stage primaryStage) {
+        friends = new ContactGroup("friends");
+        hans = new Person("Hans", "Muster");
+        hans.setCity("Zurich");
+        hans.setContactGroups(Arrays.asList(friends));
+        ruth = new Person("Ruth", "Mueller");
+        ruth.setCity("Bern");
+
+        card = new PersonCardController();
+        card.setPerson(hans);
+        primaryStage.setScene(new Scene(card.getLayout()));
+        primaryStage.show();
+    }
+
+    private String getText(String id) {
+        return ((Label) card.getLayout().lookup("#" + id)).getText();
+    }
+
+    @Test
+    public void editPerson_cardUpdated() {
+        interact(() -> {
+                hans.setCity("Basel");
+                hans.setBirthday(LocalDate.of(1980, 3, 2));
+                hans.setPostalCode(4000);
+            });
+        assertEquals("Basel", getText("city"));
+        assertEquals("1980-03-02", getText("birthday"));
+        assertEquals("4000", getText("postalCode"));
+    }
+
+    @Test
+    public void editGroups_cardUpdated() {
+        interact(() -> {
+                friends.setName("buddies");
+                hans.setContactGroups(Arrays.asList(friends, new ContactGroup("colleagues")));
+            });
+        assertEquals("buddies, colleagues", getText("contactGroups"));
+    }
+
+    @Test
+    public void recycleCard_previousPersonReleased() {
+        interact(() -> card.setPerson(ruth));
+        assertEquals("Bern", getText("city"));
+
+        interact(() -> {
+                hans.setCity("Basel");
+                friends.setName("buddies");
+            });
+        assertEquals("Bern", getText("city"));
+        assertEquals("friends", getText("contactGroups"));
+    }
+}
@@ -0,0 +1,98 @@
+package address.guiunittests;
+
+import address.model.Person;
+import address.ui.PersonListViewCell;
+import javafx.collections.FXCollections;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.stage.Stage;
+import org.junit.Test;
+import org.testfx.framework.junit.ApplicationTest;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Scrolls through a large person list, reporting the frame time and the memory allocated per scrolled row,
+ * and checks that the cards of recycled cells are reused rather than rebuilt.
+ */
+public class PersonListScrollTest extends ApplicationTest {
+    private static final int NUM_PERSONS = 10000;
+    private static final int WARMUP_FRAMES = 200;
+    private static final int MEASURED_FRAMES = 2000;
+    /** Rows scrolled per frame */
+    private static final int ROWS_PER_FRAME = 3;
+
+    private ListView<Person> personList;
+
+    @Override
+    public void start(Stage primaryStage) {
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < NUM_PERSONS; i++) {
+            Person person = new Person("First" + i, "Last" + i);
+            person.setStreet(i + " Main Street");
+            person.setPostalCode(10000 + i);
+            person.setCity("City" + i % 100);
+            person.setBirthday(LocalDate.of(1950 + i % 50, 1 + i % 12, 1 + i % 28));
+            persons.add(person);
+        }
+        personList = new ListView<>(FXCollections.observableArrayList(persons));
+        personList.setCellFactory(listView -> new PersonListViewCell());
+        primaryStage.setScene(new Scene(personList, 300, 600));
+        primaryStage.show();
+    }
+
+    @Test
+    public void scroll_cardsReused() {
+        Set<Node> cards = Collections.newSetFromMap(new IdentityHashMap<>());
+        interact(() -> scroll(0, WARMUP_FRAMES, cards));
+        cards.clear();
+
+        long[] result = new long[2];
+        interact(() -> {
+                long allocatedBefore = getAllocatedBytes();
+                long start = System.nanoTime();
+                scroll(WARMUP_FRAMES, MEASURED_FRAMES, cards);
+                result[0] = System.nanoTime() - start;
+                result[1] = getAllocatedBytes() - allocatedBefore;
+            });
+
+        int numCells = personList.lookupAll(".list-cell").size();
+        long rowsScrolled = (long) MEASURED_FRAMES * ROWS_PER_FRAME;
+        System.out.println(String.format("Person list scroll: %.3f ms/frame, %d bytes allocated/row, "
+                                         + "%d cards for %d cells",
+                                         result[0] / 1e6 / MEASURED_FRAMES, result[1] / rowsScrolled,
+                                         cards.size(), numCells));
+        assertTrue("cards should be reused across scrolled rows", cards.size() <= numCells);
+    }
+
+    /**
+     * Scrolls down by a few rows per frame, laying out the list as a pulse would after each step.
+     */
+    private void scroll(int firstFrame, int numFrames, Set<Node> cards) {
+        for (int frame = firstFrame; frame < firstFrame + numFrames; frame++) {
+            personList.scrollTo(frame * ROWS_PER_FRAME % NUM_PERSONS);
+            personList.layout();
+            personList.lookupAll(".list-cell").forEach(cell -> {
+                    Node card = ((PersonListViewCell) cell).getGraphic();
+                    if (card != null) {
+                        cards.add(card);
+                    }
+                });
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
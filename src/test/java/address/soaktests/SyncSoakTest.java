@@ -0,0 +1,271 @@
+package address.soaktests;
+
+import address.events.EventManager;
+import address.events.LoadDataRequestEvent;
+import address.events.LocalModelSyncedFromCloudEvent;
+import address.events.NewMirrorDataEvent;
+import address.exceptions.DuplicateDataException;
+import address.model.AddressBookWrapper;
+import address.model.ContactGroup;
+import address.model.ModelManager;
+import address.model.Person;
+import address.preferences.PreferencesManager;
+import address.storage.StorageManager;
+import address.sync.SyncManager;
+import address.sync.WorkloadProfile;
+import address.util.AddressBookGenerator;
+import address.util.PlatformEx;
+import com.google.common.eventbus.Subscribe;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the model, storage and sync components of the app headless for a long time, syncing with a simulated
+ * cloud while scripted edits are made concurrently, and checks for gradual slowdown and memory growth.
+ *
+ * Heap after GC, GC activity, save latency, sync lag and queue depths are sampled over time and written
+ * to a CSV report. The test fails if the heap grows or a latency or queue depth goes over its threshold.
+ * Run with {@code gradle soak}; the duration, workload and thresholds are set through soak.* properties.
+ */
+public class SyncSoakTest {
+
+    private static final long DURATION_MINUTES = Long.getLong("soak.minutes", 2);
+    private static final long SAMPLE_SECONDS = Long.getLong("soak.sampleSeconds", 10);
+    private static final long SYNC_INTERVAL_SECONDS = Long.getLong("soak.syncIntervalSeconds", 5);
+    private static final int EDITS_PER_SECOND = Integer.getInteger("soak.editsPerSecond", 2);
+    private static final int BOOK_SIZE = Integer.getInteger("soak.bookSize", 1000);
+    private static final long SEED = Long.getLong("soak.seed", 1);
+    // failed retrievals return an empty book, which the app applies as is, so they are off unless asked for
+    private static final double FAILURE_PROBABILITY = Double.parseDouble(
+            System.getProperty("soak.failureProbability", "0"));
+    private static final String REPORT_FILE = System.getProperty("soak.reportFile", "soak-samples.csv");
+
+    private static final long MAX_HEAP_GROWTH_MB = Long.getLong("soak.maxHeapGrowthMb", 64);
+    private static final long MAX_SAVE_MILLIS = Long.getLong("soak.maxSaveMillis", 2000);
+    private static final long MAX_SYNC_LAG_MILLIS = Long.getLong("soak.maxSyncLagMillis", 5000);
+    private static final int MAX_QUEUE_DEPTH = Integer.getInteger("soak.maxQueueDepth", 20);
+
+    private final Random random = new Random(SEED);
+    private final AddressBookGenerator newPersons = new AddressBookGenerator(SEED + 1);
+    private final LatencyRecorder saveLatencies = new LatencyRecorder();
+    private final LatencyRecorder syncLags = new LatencyRecorder();
+    private final List<Sample> samples = new ArrayList<>();
+    private final ScheduledExecutorService editor = Executors.newSingleThreadScheduledExecutor();
+    private volatile long mirrorDataReceivedAt;
+    private int rejectedEdits;
+
+    private File dataDirectory;
+    private ModelManager modelManager;
+    private SyncManager syncManager;
+
+    @Before
+    public void setup() throws Exception {
+        FxToolkit.registerPrimaryStage();
+        dataDirectory = Files.createTempDirectory("soak").toFile();
+        final File dataFile = new File(dataDirectory, "addressbook.xml");
+        new AddressBookGenerator(SEED).writeToFile(dataFile, BOOK_SIZE);
+        Files.copy(dataFile.toPath(), new File(dataFile.getPath() + "-mirror.xml").toPath());
+
+        PreferencesManager.setAppTitle("Soak Test");
+        // registered before the model, so that it sees the mirror data before the model applies it
+        EventManager.getInstance().registerHandler(this);
+        modelManager = new ModelManager(new AddressBookWrapper());
+        new StorageManager(modelManager);
+        syncManager = new SyncManager();
+        PlatformEx.runAndWait(() -> EventManager.getInstance().post(new LoadDataRequestEvent(dataFile)));
+    }
+
+    @After
+    public void tearDown() {
+        editor.shutdownNow();
+        syncManager.stopSyncing();
+        PreferencesManager.getInstance().setPersonFilePath(null);
+        final File[] files = dataDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dataDirectory.delete();
+    }
+
+    @Subscribe
+    public void handleNewMirrorDataEvent(NewMirrorDataEvent nde) {
+        mirrorDataReceivedAt = System.nanoTime();
+    }
+
+    @Subscribe
+    public void handleLocalModelSyncedFromCloudEvent(LocalModelSyncedFromCloudEvent lmse) {
+        syncLags.record(System.nanoTime() - mirrorDataReceivedAt);
+    }
+
+    @Test
+    public void syncAndEdit_noLeaksOrSlowdown() throws Exception {
+        final WorkloadProfile profile = WorkloadProfile.busyTeam();
+        profile.setSeed(SEED);
+        profile.setFailureProbability(FAILURE_PROBABILITY);
+        syncManager.startSyncingData(SYNC_INTERVAL_SECONDS, profile);
+        editor.scheduleAtFixedRate(this::makeTimedEdit, 0, 1000 / EDITS_PER_SECOND, TimeUnit.MILLISECONDS);
+
+        final long start = System.nanoTime();
+        final long end = start + TimeUnit.MINUTES.toNanos(DURATION_MINUTES);
+        while (System.nanoTime() < end) {
+            TimeUnit.SECONDS.sleep(SAMPLE_SECONDS);
+            samples.add(takeSample(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)));
+        }
+        editor.shutdownNow();
+        syncManager.stopSyncing();
+        writeReport();
+
+        assertTrue("too few samples to judge, run for longer", samples.size() >= 4);
+        // the first sample is taken while the JIT and caches are still warming up
+        final long heapGrowthMb = (minHeapAfterGc(samples.size() - 2, samples.size())
+                - minHeapAfterGc(1, 3)) / (1024 * 1024);
+        assertTrue("heap after GC grew by " + heapGrowthMb + "MB", heapGrowthMb <= MAX_HEAP_GROWTH_MB);
+        for (Sample sample : samples) {
+            assertTrue("save latency p99 " + sample.saveP99Millis + "ms at " + sample.seconds + "s",
+                       sample.saveP99Millis <= MAX_SAVE_MILLIS);
+            assertTrue("sync lag " + sample.maxSyncLagMillis + "ms at " + sample.seconds + "s",
+                       sample.maxSyncLagMillis <= MAX_SYNC_LAG_MILLIS);
+            assertTrue("push queue depth " + sample.pendingPushes + " at " + sample.seconds + "s",
+                       sample.pendingPushes <= MAX_QUEUE_DEPTH);
+        }
+    }
+
+    /**
+     * Makes a random edit on the FX Application Thread, timing it together with the save it triggers.
+     */
+    private void makeTimedEdit() {
+        PlatformEx.runLaterAndWait(() -> {
+                final long editStart = System.nanoTime();
+                try {
+                    makeEdit();
+                } catch (DuplicateDataException e) {
+                    rejectedEdits++;
+                }
+                saveLatencies.record(System.nanoTime() - editStart);
+            });
+    }
+
+    private void makeEdit() throws DuplicateDataException {
+        final List<Person> persons = modelManager.getPersons();
+        final List<ContactGroup> groups = modelManager.getGroupData();
+        final int choice = random.nextInt(100);
+        if (choice < 25 || persons.isEmpty()) {
+            modelManager.addPerson(newPersons.next());
+        } else if (choice < 65) {
+            final Person original = persons.get(random.nextInt(persons.size()));
+            final Person updated = new Person(original);
+            updated.setCity("Soak City " + random.nextInt(100));
+            modelManager.updatePerson(original, updated);
+        } else if (choice < 90) {
+            modelManager.deletePerson(persons.get(random.nextInt(persons.size())));
+        } else if (choice < 95 || groups.isEmpty()) {
+            modelManager.addGroup(new ContactGroup("soak group " + random.nextInt(1000)));
+        } else if (choice < 98) {
+            final ContactGroup original = groups.get(random.nextInt(groups.size()));
+            modelManager.updateGroup(original, new ContactGroup(original.getName() + " renamed"));
+        } else {
+            modelManager.deleteGroup(groups.get(random.nextInt(groups.size())));
+        }
+    }
+
+    private Sample takeSample(long seconds) {
+        final Sample sample = new Sample();
+        sample.seconds = seconds;
+        System.gc();
+        sample.heapAfterGcBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample.gcCount += gc.getCollectionCount();
+            sample.gcMillis += gc.getCollectionTime();
+        }
+        sample.saveP99Millis = saveLatencies.takePercentileMillis(0.99);
+        sample.maxSyncLagMillis = syncLags.takePercentileMillis(1);
+        sample.pendingPushes = syncManager.getPendingPushCount();
+        final long queueStart = System.nanoTime();
+        PlatformEx.waitOnFxThread();
+        sample.fxQueueMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queueStart);
+        sample.persons = modelManager.getSnapshot().getPersons().size();
+        System.out.println("Soak sample: " + sample.toCsv());
+        return sample;
+    }
+
+    private long minHeapAfterGc(int from, int to) {
+        long min = Long.MAX_VALUE;
+        for (Sample sample : samples.subList(from, to)) {
+            min = Math.min(min, sample.heapAfterGcBytes);
+        }
+        return min;
+    }
+
+    private void writeReport() throws IOException {
+        final File reportFile = new File(REPORT_FILE);
+        if (reportFile.getParentFile() != null) reportFile.getParentFile().mkdirs();
+        try (PrintWriter writer = new PrintWriter(reportFile, "UTF-8")) {
+            writer.println(Sample.CSV_HEADER);
+            samples.forEach(sample -> writer.println(sample.toCsv()));
+        }
+        System.out.println("Soak report written to " + reportFile.getAbsolutePath() + ", " + rejectedEdits
+                           + " edits rejected as duplicates");
+    }
+
+    /**
+     * Collects latencies between samples.
+     */
+    private static class LatencyRecorder {
+        private final List<Long> nanos = new ArrayList<>();
+
+        synchronized void record(long latencyNanos) {
+            nanos.add(latencyNanos);
+        }
+
+        /**
+         * @return the given percentile of the latencies recorded since the last call, or 0 if there were none
+         */
+        synchronized long takePercentileMillis(double percentile) {
+            if (nanos.isEmpty()) return 0;
+            Collections.sort(nanos);
+            final long value = nanos.get((int) Math.ceil(percentile * nanos.size()) - 1);
+            nanos.clear();
+            return TimeUnit.NANOSECONDS.toMillis(value);
+        }
+    }
+
+    private static class Sample {
+        static final String CSV_HEADER = "seconds,heapAfterGcBytes,gcCount,gcMillis,saveP99Millis,"
+                + "maxSyncLagMillis,pendingPushes,fxQueueMillis,persons";
+
+        long seconds;
+        long heapAfterGcBytes;
+        long gcCount;
+        long gcMillis;
+        long saveP99Millis;
+        long maxSyncLagMillis;
+        int pendingPushes;
+        long fxQueueMillis;
+        int persons;
+
+        String toCsv() {
+            return seconds + "," + heapAfterGcBytes + "," + gcCount + "," + gcMillis + "," + saveP99Millis + ","
+                    + maxSyncLagMillis + "," + pendingPushes + "," + fxQueueMillis + "," + persons;
+        }
+    }
+}
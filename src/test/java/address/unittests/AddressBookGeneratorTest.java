@@ -0,0 +1,75 @@
+package address.unittests;
+
+import address.model.AddressBookWrapper;
+import address.model.Person;
+import address.util.AddressBookGenerator;
+import address.util.XmlHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AddressBookGeneratorTest {
+
+    private static AddressBookGenerator createGenerator(long seed) {
+        AddressBookGenerator generator = new AddressBookGenerator(seed);
+        generator.setDuplicateRate(0.02);
+        generator.setNearDuplicateRate(0.05);
+        return generator;
+    }
+
+    @Test
+    public void sameSeed_sameBook() {
+        List<Person> first = createGenerator(42).generatePersons(1000);
+        List<Person> second = createGenerator(42).generatePersons(1000);
+
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i), second.get(i));
+            assertTrue(first.get(i).hasSameDetails(second.get(i)));
+        }
+    }
+
+    @Test
+    public void largeBook_noDuplicateNames() {
+        AddressBookWrapper book = new AddressBookWrapper();
+        book.setPersons(createGenerator(7).generatePersons(50000));
+
+        assertFalse(book.containsDuplicates());
+    }
+
+    @Test
+    public void cities_zipfDistributed() {
+        Map<String, Integer> cityCounts = new HashMap<>();
+        createGenerator(1).generatePersons(20000)
+                .forEach(person -> cityCounts.merge(person.getCity(), 1, Integer::sum));
+
+        int largest = cityCounts.get("Zurich");
+        int tenth = cityCounts.get("Thun");
+        assertTrue("expected about 10 times as many, got " + largest + " and " + tenth,
+                   largest > 5 * tenth && largest < 20 * tenth);
+    }
+
+    @Test
+    public void writeToFile_loadsBack() throws Exception {
+        File file = File.createTempFile("generated", ".xml");
+        file.deleteOnExit();
+        AddressBookGenerator generator = createGenerator(3);
+        generator.writeToFile(file, 2000);
+
+        AddressBookWrapper loaded = XmlHelper.getDataFromFile(file);
+        List<Person> expected = createGenerator(3).generatePersons(2000);
+        assertEquals(expected.size(), loaded.getPersons().size());
+        assertEquals(generator.getGroups().size(), loaded.getGroups().size());
+        for (int i = 0; i < expected.size(); i++) {
+            Person loadedPerson = loaded.getPersons().get(i);
+            loadedPerson.setContactGroups(expected.get(i).getContactGroupsCopy()); // not stored in the file
+            assertTrue(expected.get(i).hasSameDetails(loadedPerson));
+        }
+    }
+}
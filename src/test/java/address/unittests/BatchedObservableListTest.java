@@ -0,0 +1,88 @@
+package address.unittests;
+
+import address.util.BatchedObservableList;
+import javafx.collections.ListChangeListener;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchedObservableListTest {
+
+    private static final int LARGE_SIZE = 1000000;
+
+    private static List<Integer> getRange(int from, int to) {
+        List<Integer> range = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            range.add(i);
+        }
+        return range;
+    }
+
+    /**
+     * Clearing one element at a time would shift the whole backing list on each removal, taking far longer.
+     */
+    @Test(timeout = 5000)
+    public void setAll_largeList_replacedInLinearTime() {
+        BatchedObservableList<Integer> list = new BatchedObservableList<>(getRange(0, LARGE_SIZE));
+        List<Integer> removedSizes = new ArrayList<>();
+        list.addListener((ListChangeListener<Integer>) change -> {
+                while (change.next()) {
+                    if (change.wasRemoved()) removedSizes.add(change.getRemovedSize());
+                }
+            });
+
+        list.setAll(getRange(LARGE_SIZE, 2 * LARGE_SIZE));
+
+        assertEquals(Collections.singletonList(LARGE_SIZE), removedSizes);
+        assertEquals(LARGE_SIZE, list.size());
+        assertEquals(Integer.valueOf(LARGE_SIZE), list.get(0));
+    }
+
+    @Test
+    public void removeRange_reportedAsSingleRemoval() {
+        BatchedObservableList<Integer> list = new BatchedObservableList<>(getRange(0, 10));
+        List<String> removals = new ArrayList<>();
+        list.addListener((ListChangeListener<Integer>) change -> {
+                while (change.next()) {
+                    removals.add(change.getFrom() + ":" + change.getRemoved());
+                }
+            });
+
+        list.subList(2, 5).clear();
+        assertEquals(Collections.singletonList("2:[2, 3, 4]"), removals);
+        assertEquals(Arrays.asList(0, 1, 5, 6, 7, 8, 9), list);
+
+        list.clear();
+        assertEquals(Arrays.asList("2:[2, 3, 4]", "0:[0, 1, 5, 6, 7, 8, 9]"), removals);
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void update_inBatch_reportedWithBatchChange() {
+        BatchedObservableList<Integer> list = new BatchedObservableList<>(getRange(0, 10));
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<Integer>) change -> {
+                changes.add("change");
+                while (change.next()) {
+                    changes.add(change.wasUpdated() ? "updated " + change.getFrom() : "removed " + change.getFrom());
+                }
+            });
+        Integer seven = list.get(7);
+
+        list.batch(() -> {
+                list.update(seven);
+                list.remove(0);
+            });
+        assertEquals(Arrays.asList("change", "removed 0", "updated 6"), changes);
+
+        list.update(seven);
+        list.update(42); // not in the list
+        assertEquals(Arrays.asList("change", "removed 0", "updated 6", "change", "updated 6"), changes);
+    }
+}
@@ -0,0 +1,127 @@
+package address.unittests;
+
+import address.exceptions.DuplicatePersonException;
+import address.model.AddressBookWrapper;
+import address.model.BirthdayStatistics;
+import address.model.ContactGroup;
+import address.model.ModelManager;
+import address.model.Person;
+import javafx.collections.transformation.FilteredList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class BirthdayStatisticsTest {
+
+    private ModelManager modelManager;
+    private BirthdayStatistics statistics;
+    private Person hans;
+    private Person ruth;
+
+    private static Person createPerson(String firstName, String lastName, LocalDate birthday) {
+        Person person = new Person(firstName, lastName);
+        person.setBirthday(birthday);
+        return person;
+    }
+
+    @Before
+    public void setup() {
+        hans = createPerson("Hans", "Muster", LocalDate.of(1980, 3, 2));
+        ruth = createPerson("Ruth", "Mueller", LocalDate.of(1976, 2, 29));
+        modelManager = new ModelManager(new ArrayList<>(Arrays.asList(hans, ruth,
+                                                                      createPerson("Anna", "Best", null))),
+                                        Collections.singletonList(new ContactGroup("friends")));
+        statistics = modelManager.getBirthdayStatistics();
+    }
+
+    @Test
+    public void initialData_counted() {
+        assertEquals(1, statistics.getMonthCount(Month.MARCH));
+        assertEquals(1, statistics.getMonthCount(Month.FEBRUARY));
+        assertEquals(1, statistics.getDayCount(MonthDay.of(2, 29)));
+        assertEquals(0, statistics.getDayCount(MonthDay.of(3, 1)));
+        assertEquals(1, statistics.getWithoutBirthdayCount());
+        assertEquals(3, statistics.getTotalCount());
+    }
+
+    @Test
+    public void addAndDelete_counted() throws DuplicatePersonException {
+        modelManager.addPerson(createPerson("Otto", "Meier", LocalDate.of(1990, 3, 2)));
+        modelManager.deletePerson(ruth);
+
+        assertEquals(2, statistics.getMonthCount(Month.MARCH));
+        assertEquals(2, statistics.getDayCount(MonthDay.of(3, 2)));
+        assertEquals(0, statistics.getMonthCount(Month.FEBRUARY));
+    }
+
+    @Test
+    public void updateAndUndo_recounted() throws DuplicatePersonException {
+        AtomicInteger marchChanges = new AtomicInteger();
+        statistics.monthCountProperty(Month.MARCH).addListener((observable, oldValue, newValue) ->
+                marchChanges.incrementAndGet());
+        Person updated = new Person(hans);
+        updated.setBirthday(LocalDate.of(1980, 7, 14));
+        modelManager.updatePerson(hans, updated);
+
+        assertEquals(0, statistics.getMonthCount(Month.MARCH));
+        assertEquals(1, statistics.getDayCount(MonthDay.of(7, 14)));
+        assertEquals(1, marchChanges.get());
+
+        modelManager.undo();
+
+        assertEquals(1, statistics.getMonthCount(Month.MARCH));
+        assertEquals(0, statistics.getMonthCount(Month.JULY));
+    }
+
+    @Test
+    public void externalData_recounted() {
+        Person movedRuth = new Person(ruth);
+        movedRuth.setBirthday(LocalDate.of(1976, 12, 24));
+        AddressBookWrapper external = new AddressBookWrapper();
+        external.setPersons(new ArrayList<>(Arrays.asList(new Person(hans), movedRuth)));
+        external.setGroups(new ArrayList<>());
+        modelManager.updateUsingExternalData(external);
+
+        assertEquals(1, statistics.getMonthCount(Month.DECEMBER));
+        assertEquals(0, statistics.getMonthCount(Month.FEBRUARY));
+        assertEquals(0, statistics.getWithoutBirthdayCount());
+        assertEquals(2, statistics.getTotalCount());
+    }
+
+    @Test
+    public void filterChange_onlyPersonsInViewCounted() {
+        FilteredList<Person> filtered = (FilteredList<Person>) modelManager.getFilteredPersons();
+        filtered.setPredicate(person -> person.getFirstName().startsWith("H"));
+
+        assertEquals(1, statistics.getTotalCount());
+        assertEquals(0, statistics.getMonthCount(Month.FEBRUARY));
+        assertEquals(1, modelManager.getBirthdayMonthCounts()[2]);
+
+        filtered.setPredicate(null);
+
+        assertEquals(3, statistics.getTotalCount());
+        assertEquals(1, statistics.getMonthCount(Month.FEBRUARY));
+    }
+
+    @Test
+    public void updateLeavingFilter_uncounted() throws DuplicatePersonException {
+        FilteredList<Person> filtered = (FilteredList<Person>) modelManager.getFilteredPersons();
+        filtered.setPredicate(person -> person.getFirstName().startsWith("H"));
+        Person renamed = new Person(hans);
+        renamed.setFirstName("Kurt");
+        modelManager.updatePerson(hans, renamed);
+
+        assertEquals(Collections.emptyList(), filtered);
+        assertEquals(0, statistics.getTotalCount());
+        assertEquals(0, statistics.getMonthCount(Month.MARCH));
+    }
+}
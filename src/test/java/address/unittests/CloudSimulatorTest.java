@@ -0,0 +1,99 @@
+package address.unittests;
+
+import address.model.AddressBookWrapper;
+import address.model.ContactGroup;
+import address.model.Person;
+import address.sync.CloudSimulator;
+import address.sync.SyncManager;
+import address.sync.VirtualClock;
+import address.sync.WorkloadProfile;
+import address.util.AddressBookGenerator;
+import address.util.XmlHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CloudSimulatorTest {
+
+    private static File createCloudFile() throws Exception {
+        File file = File.createTempFile("cloud", ".xml");
+        file.deleteOnExit();
+        AddressBookGenerator generator = new AddressBookGenerator(3);
+        XmlHelper.saveToFile(file, generator.generatePersons(200), generator.getGroups());
+        return file;
+    }
+
+    private static List<AddressBookWrapper> retrieve(WorkloadProfile profile, int times) throws Exception {
+        File file = createCloudFile();
+        CloudSimulator simulator = new CloudSimulator(profile, new VirtualClock());
+        List<AddressBookWrapper> retrieved = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            retrieved.add(simulator.getSimulatedCloudData(file));
+        }
+        return retrieved;
+    }
+
+    private static void assertSameData(AddressBookWrapper expected, AddressBookWrapper actual) {
+        assertEquals(expected.getPersons().size(), actual.getPersons().size());
+        for (int i = 0; i < expected.getPersons().size(); i++) {
+            Person expectedPerson = expected.getPersons().get(i);
+            Person actualPerson = actual.getPersons().get(i);
+            assertEquals(expectedPerson, actualPerson);
+            assertTrue(expectedPerson.hasSameDetails(actualPerson));
+        }
+        assertEquals(expected.getGroups(), actual.getGroups());
+    }
+
+    @Test
+    public void sameSeed_sameTraffic() throws Exception {
+        WorkloadProfile profile = WorkloadProfile.busyTeam();
+        profile.setSeed(11);
+
+        List<AddressBookWrapper> first = retrieve(profile, 30);
+        List<AddressBookWrapper> second = retrieve(profile, 30);
+
+        for (int i = 0; i < first.size(); i++) {
+            assertSameData(first.get(i), second.get(i));
+        }
+        AddressBookWrapper last = first.get(first.size() - 1);
+        assertTrue(last.getPersons().size() > 200);
+        assertTrue(last.getGroups().stream().map(ContactGroup::getName).anyMatch(name -> name.contains("-")));
+    }
+
+    @Test
+    public void passiveProfile_returnsStoredData() throws Exception {
+        File file = createCloudFile();
+        VirtualClock clock = new VirtualClock();
+        CloudSimulator simulator = new CloudSimulator(WorkloadProfile.none(), clock);
+
+        assertSameData(XmlHelper.getDataFromFile(file), simulator.getSimulatedCloudData(file));
+        assertEquals(0, clock.currentTimeMillis());
+    }
+
+    @Test
+    public void replay_hoursOfTrafficInVirtualTime() throws Exception {
+        File file = createCloudFile();
+        WorkloadProfile profile = WorkloadProfile.standard();
+        profile.setSeed(5);
+        VirtualClock clock = new VirtualClock();
+        SyncManager syncManager = new SyncManager(new CloudSimulator(profile, clock));
+        List<AddressBookWrapper> synced = new ArrayList<>();
+
+        long start = System.nanoTime();
+        int cycles = syncManager.replay(clock, file, TimeUnit.SECONDS.toMillis(10), TimeUnit.HOURS.toMillis(2),
+                                        synced::add);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // latencies of the standard profile are within the interval, so no cycle overruns
+        assertEquals(720, cycles);
+        assertEquals(TimeUnit.HOURS.toMillis(2), clock.currentTimeMillis());
+        assertEquals(cycles, synced.size());
+        assertTrue("replay took " + elapsedMillis + "ms", elapsedMillis < TimeUnit.MINUTES.toMillis(1));
+    }
+}
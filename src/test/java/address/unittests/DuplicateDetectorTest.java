@@ -0,0 +1,62 @@
+package address.unittests;
+
+import address.dedup.DuplicateDetector;
+import address.dedup.DuplicatePair;
+import address.model.Person;
+import address.util.Soundex;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DuplicateDetectorTest {
+
+    private static Person createPerson(String firstName, String lastName, String street, int postalCode) {
+        Person person = new Person(firstName, lastName);
+        person.setStreet(street);
+        person.setPostalCode(postalCode);
+        person.setCity("Zurich");
+        person.setBirthday(LocalDate.of(1980, 1, 1));
+        return person;
+    }
+
+    @Test
+    public void soundex() {
+        assertEquals("S530", Soundex.encode("Smith"));
+        assertEquals("S530", Soundex.encode("Smyth"));
+        assertEquals("A261", Soundex.encode("Ashcraft"));
+        assertEquals("P236", Soundex.encode("Pfister"));
+        assertEquals("", Soundex.encode("123"));
+    }
+
+    @Test
+    public void findDuplicates_nearDuplicateFound() {
+        Person john = createPerson("John", "Smith", "12 Main Street", 8000);
+        Person jon = createPerson("Jon", "Smith", "12 Main Street", 8000);
+        Person anna = createPerson("Anna", "Best", "3 Lake Road", 8000);
+        Person johnElsewhere = createPerson("John", "Smythe", "99 Hill Road", 3000);
+
+        List<DuplicatePair> duplicates = new DuplicateDetector()
+                .findDuplicates(Arrays.asList(john, anna, jon, johnElsewhere));
+
+        assertEquals(1, duplicates.size());
+        assertTrue(duplicates.get(0).first == john && duplicates.get(0).second == jon);
+    }
+
+    @Test
+    public void detect_pairReportedOnce() {
+        // shares both the phonetic block and the postal code block
+        Person stefan = createPerson("Stefan", "Meier", "1 Main Street", 8000);
+        Person stephan = createPerson("Stephan", "Meyer", "1 Main Street", 8000);
+
+        DuplicateDetector.Report report = new DuplicateDetector()
+                .detect(Arrays.asList(stefan, stephan), pair -> { });
+
+        assertEquals(1, report.comparisons);
+        assertEquals(1, report.duplicates);
+    }
+}
@@ -0,0 +1,76 @@
+package address.unittests;
+
+import address.model.Person;
+import address.model.index.FuzzyNameIndex;
+import address.parser.qualifier.FuzzyNameQualifier;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FuzzyNameIndexTest {
+
+    private FuzzyNameIndex index;
+    private Person john;
+    private Person jon;
+    private Person joan;
+
+    @Before
+    public void setup() {
+        index = new FuzzyNameIndex();
+        john = new Person("John", "Smith");
+        jon = new Person("Jon", "Smyth");
+        joan = new Person("Joan", "Miller");
+        index.add(john);
+        index.add(jon);
+        index.add(joan);
+    }
+
+    @Test
+    public void search_rankedByDistance() {
+        List<FuzzyNameIndex.Match> matches = index.search("jhon", 2);
+
+        assertEquals(3, matches.size());
+        assertEquals("jon", matches.get(0).term);
+        assertEquals(1, matches.get(0).distance);
+        assertTrue(matches.get(0).persons.contains(jon));
+        assertEquals(2, matches.get(1).distance);
+    }
+
+    @Test
+    public void find_boundedDistance() {
+        assertEquals(2, index.find("smith", 1).size());
+        assertEquals(0, index.find("smithson", 1).size());
+    }
+
+    @Test
+    public void update_followsRename() {
+        john.setLastName("Baker");
+        index.update(john);
+
+        assertEquals(1, index.find("smith", 1).size());
+        assertTrue(index.find("bakr", 1).contains(john));
+    }
+
+    @Test
+    public void remove_termNoLongerMatches() {
+        index.remove(joan);
+
+        assertTrue(index.find("miller", 0).isEmpty());
+        assertEquals(2, index.find("jon", 1).size());
+    }
+
+    @Test
+    public void qualifier_matchesWithoutIndex() {
+        FuzzyNameQualifier qualifier = new FuzzyNameQualifier("Smitth");
+
+        assertEquals(2, qualifier.maxDistance);
+        assertTrue(qualifier.run(john));
+        assertTrue(qualifier.run(jon));
+        assertFalse(qualifier.run(joan));
+    }
+}
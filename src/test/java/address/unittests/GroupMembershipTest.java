@@ -0,0 +1,137 @@
+package address.unittests;
+
+import address.exceptions.DuplicateGroupException;
+import address.exceptions.DuplicatePersonException;
+import address.model.AddressBookWrapper;
+import address.model.ContactGroup;
+import address.model.ContactGroupRegistry;
+import address.model.ModelManager;
+import address.model.Person;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GroupMembershipTest {
+
+    private ModelManager modelManager;
+    private ContactGroup friends;
+    private Person hans;
+    private Person ruth;
+
+    private static Person createPerson(String firstName, String lastName, String... groups) {
+        Person person = new Person(firstName, lastName);
+        ArrayList<ContactGroup> contactGroups = new ArrayList<>();
+        for (String group : groups) {
+            contactGroups.add(new ContactGroup(group));
+        }
+        person.setContactGroups(contactGroups);
+        return person;
+    }
+
+    @Before
+    public void setup() {
+        friends = new ContactGroup("friends");
+        hans = createPerson("Hans", "Muster", "friends", "colleagues");
+        ruth = createPerson("Ruth", "Mueller", "friends");
+        modelManager = new ModelManager(new ArrayList<>(Arrays.asList(hans, ruth)),
+                                        Arrays.asList(friends, new ContactGroup("colleagues")));
+    }
+
+    @Test
+    public void initialData_groupInstancesShared() {
+        assertSame(hans.getContactGroupsCopy().get(0), ruth.getContactGroupsCopy().get(0));
+        assertSame(modelManager.getGroupData().get(0), hans.getContactGroupsCopy().get(0));
+        assertEquals(new HashSet<>(Arrays.asList(hans, ruth)), modelManager.getGroupMembers(friends));
+    }
+
+    @Test
+    public void renameGroup_propagatesToMembers() throws DuplicateGroupException {
+        modelManager.updateGroup(modelManager.getGroupData().get(0), new ContactGroup("buddies"));
+
+        assertEquals("buddies", hans.getContactGroupsCopy().get(0).getName());
+        assertEquals("buddies", ruth.getContactGroupsCopy().get(0).getName());
+        assertEquals(2, modelManager.getGroupMembers(new ContactGroup("buddies")).size());
+        assertTrue(modelManager.getGroupMembers(new ContactGroup("friends")).isEmpty());
+        assertEquals(2, modelManager.getPersonIndexes().byGroup().count("buddies"));
+    }
+
+    @Test
+    public void updatePerson_groupsCanonicalizedAndReindexed() throws DuplicatePersonException {
+        Person updated = createPerson("Ruth", "Mueller", "colleagues");
+        modelManager.updatePerson(ruth, updated);
+
+        assertSame(modelManager.getGroupData().get(1), ruth.getContactGroupsCopy().get(0));
+        assertEquals(Collections.singleton(hans), modelManager.getGroupMembers(friends));
+        assertEquals(2, modelManager.getGroupMembers(new ContactGroup("colleagues")).size());
+    }
+
+    @Test
+    public void externalDataUpdate_groupsCanonicalized() {
+        AddressBookWrapper external = new AddressBookWrapper();
+        external.setPersons(new ArrayList<>(Arrays.asList(createPerson("Hans", "Muster", "friends"),
+                                                          createPerson("Anna", "Best", "friends"))));
+        external.setGroups(new ArrayList<>(Arrays.asList(new ContactGroup("friends"))));
+        modelManager.updateUsingExternalData(external);
+
+        Person anna = modelManager.getPersons().get(1);
+        assertSame(hans.getContactGroupsCopy().get(0), anna.getContactGroupsCopy().get(0));
+        assertEquals(new HashSet<>(Arrays.asList(hans, anna)), modelManager.getGroupMembers(friends));
+    }
+
+    @Test
+    public void deleteGroup_removedFromMembersAndUnregistered() throws DuplicateGroupException {
+        ContactGroup colleagues = modelManager.getGroupData().get(1);
+        modelManager.deleteGroup(colleagues);
+        ContactGroup newColleagues = new ContactGroup("colleagues");
+        modelManager.addGroup(newColleagues);
+
+        assertSame(newColleagues, modelManager.getGroupData().get(1));
+        assertTrue(modelManager.getGroupMembers(newColleagues).isEmpty());
+        assertEquals(Collections.singletonList(friends), hans.getContactGroupsCopy());
+        assertEquals(0, modelManager.getPersonIndexes().byGroup().count("colleagues"));
+    }
+
+    @Test
+    public void deleteGroup_undone_membersRestored() {
+        ContactGroup colleagues = modelManager.getGroupData().get(1);
+        modelManager.deleteGroup(colleagues);
+        assertTrue(modelManager.getGroupMembers(friends).contains(hans));
+
+        assertTrue(modelManager.undo());
+        assertSame(colleagues, hans.getContactGroupsCopy().get(1));
+        assertEquals(Collections.singleton(hans), modelManager.getGroupMembers(new ContactGroup("colleagues")));
+
+        assertTrue(modelManager.redo());
+        assertEquals(Collections.singletonList(friends), hans.getContactGroupsCopy());
+        assertTrue(modelManager.getGroupMembers(new ContactGroup("colleagues")).isEmpty());
+    }
+
+    @Test
+    public void registry_removeOnlyRegisteredInstance() {
+        ContactGroupRegistry registry = new ContactGroupRegistry();
+        ContactGroup friends = registry.intern(new ContactGroup("friends"));
+        registry.remove(new ContactGroup("friends"));
+        assertEquals(1, registry.size());
+        registry.remove(friends);
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void personHoldingGroupTwice_indexedOnceAndRemovable() throws DuplicatePersonException {
+        Person anna = createPerson("Anna", "Best", "friends", "friends");
+        modelManager.addPerson(anna);
+        assertSame(anna.getContactGroupsCopy().get(0), anna.getContactGroupsCopy().get(1));
+        assertEquals(Arrays.asList(friends), modelManager.getPersonIndexes().byGroupMembership().getGroups(anna));
+
+        modelManager.deletePerson(anna);
+        assertEquals(new HashSet<>(Arrays.asList(hans, ruth)), modelManager.getGroupMembers(friends));
+    }
+}
@@ -0,0 +1,145 @@
+package address.unittests;
+
+import address.exceptions.DuplicateDataException;
+import address.exceptions.DuplicatePersonException;
+import address.model.AddressBookWrapper;
+import address.model.ContactGroup;
+import address.model.ModelManager;
+import address.model.Person;
+import javafx.collections.ListChangeListener;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ModelHistoryTest {
+
+    private ModelManager modelManager;
+    private Person hans;
+    private Person ruth;
+    private Person heinz;
+    private int personListChanges;
+
+    @Before
+    public void setup() {
+        hans = new Person("Hans", "Muster");
+        ruth = new Person("Ruth", "Mueller");
+        heinz = new Person("Heinz", "Kurz");
+        modelManager = new ModelManager(new ArrayList<>(Arrays.asList(hans, ruth, heinz)),
+                                        new ArrayList<>(Arrays.asList(new ContactGroup("friends"))));
+        modelManager.getPersons().addListener((ListChangeListener<Person>) change -> personListChanges++);
+    }
+
+    private static Person withGroup(Person person, String groupName) {
+        Person updated = new Person(person);
+        updated.setContactGroups(new ArrayList<>(Arrays.asList(new ContactGroup(groupName))));
+        return updated;
+    }
+
+    @Test
+    public void undoRedo_transaction() throws DuplicateDataException {
+        Person anna = new Person("Anna", "Best");
+        modelManager.transaction(transaction -> transaction
+                .deletePersons(Arrays.asList(hans, heinz))
+                .updatePerson(ruth, new Person("Ruthie", "Mueller"))
+                .addPerson(anna)
+                .addGroup(new ContactGroup("relatives")));
+        personListChanges = 0;
+
+        assertTrue(modelManager.undo());
+        assertEquals(1, personListChanges);
+        assertEquals(Arrays.asList(hans, ruth, heinz), modelManager.getPersons());
+        assertEquals("Ruth", ruth.getFirstName());
+        assertEquals(1, modelManager.getGroupData().size());
+        assertFalse(modelManager.getHistory().canUndo());
+
+        assertTrue(modelManager.redo());
+        assertEquals(2, personListChanges);
+        assertEquals(Arrays.asList(ruth, anna), modelManager.getPersons());
+        assertEquals("Ruthie", ruth.getFirstName());
+        assertEquals(2, modelManager.getGroupData().size());
+        assertFalse(modelManager.redo());
+    }
+
+    @Test
+    public void undo_update_indexesRestored() throws DuplicatePersonException {
+        String originalCity = hans.getCity();
+        Person updated = new Person(hans);
+        updated.setCity("Basel");
+        modelManager.updatePerson(hans, updated);
+        modelManager.undo();
+
+        assertEquals(originalCity, hans.getCity());
+        assertTrue(modelManager.getPersonIndexes().byCity().get("basel").isEmpty());
+    }
+
+    @Test
+    public void undo_externalData() {
+        Person renamed = new Person(hans);
+        renamed.setFirstName("Hansi");
+        AddressBookWrapper external = new AddressBookWrapper();
+        external.setPersons(new ArrayList<>(Arrays.asList(renamed, new Person(ruth))));
+        external.setGroups(new ArrayList<>(Arrays.asList(new ContactGroup("friends"))));
+        modelManager.updateUsingExternalData(external);
+        personListChanges = 0;
+
+        assertTrue(modelManager.undo());
+        assertEquals(1, personListChanges);
+        assertEquals("Hans", hans.getFirstName());
+        assertEquals(Arrays.asList(hans, ruth, heinz), modelManager.getPersons());
+    }
+
+    @Test
+    public void undoRedo_renameMergingGroup() throws DuplicateDataException {
+        ContactGroup friends = modelManager.getGroupData().get(0); // held by hans and ruth
+        modelManager.updatePerson(heinz, withGroup(heinz, "buddies")); // not in the group list
+        ContactGroup buddies = heinz.getContactGroupsCopy().get(0);
+
+        modelManager.updateGroup(friends, new ContactGroup("buddies"));
+        assertSame(friends, heinz.getContactGroupsCopy().get(0));
+
+        assertTrue(modelManager.undo());
+        assertEquals("friends", friends.getName());
+        assertSame(friends, hans.getContactGroupsCopy().get(0));
+        assertSame(buddies, heinz.getContactGroupsCopy().get(0));
+        assertEquals(new HashSet<>(Arrays.asList(hans, ruth)), modelManager.getGroupMembers(friends));
+        assertEquals(Collections.singleton(heinz), modelManager.getGroupMembers(buddies));
+
+        assertTrue(modelManager.redo());
+        assertSame(friends, heinz.getContactGroupsCopy().get(0));
+        assertEquals(new HashSet<>(Arrays.asList(hans, ruth, heinz)), modelManager.getGroupMembers(friends));
+    }
+
+    @Test
+    public void newChange_redoDiscarded() {
+        modelManager.deletePerson(hans);
+        modelManager.undo();
+        modelManager.deletePerson(ruth);
+
+        assertFalse(modelManager.redo());
+        assertSame(hans, modelManager.getPersons().get(0));
+    }
+
+    @Test
+    public void overBudget_oldestEvicted() {
+        modelManager.deletePerson(hans);
+        long editBytes = modelManager.getHistory().getEstimatedBytes();
+        modelManager.getHistory().setBudgetBytes(editBytes * 2);
+        modelManager.deletePerson(ruth);
+        modelManager.deletePerson(heinz);
+
+        assertEquals(2, modelManager.getHistory().getUndoCount());
+        assertTrue(modelManager.undo());
+        assertTrue(modelManager.undo());
+        assertFalse(modelManager.undo());
+        assertEquals(Arrays.asList(ruth, heinz), modelManager.getPersons());
+    }
+}
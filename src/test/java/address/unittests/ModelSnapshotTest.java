@@ -0,0 +1,199 @@
+package address.unittests;
+
+import address.exceptions.DuplicateDataException;
+import address.model.ContactGroup;
+import address.model.ModelManager;
+import address.model.ModelSnapshot;
+import address.model.Person;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ModelSnapshotTest {
+
+    private static final int NUM_PERSONS = 2000;
+    private static final int NUM_READERS = 4;
+    private static final long STRESS_DURATION_MS = 1000;
+
+    private ModelManager modelManager;
+    private ContactGroup friends;
+
+    @Before
+    public void setup() {
+        friends = new ContactGroup("friends");
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < NUM_PERSONS; i++) {
+            Person person = new Person("First" + i, "Last" + i);
+            person.setPostalCode(0);
+            person.setContactGroups(Arrays.asList(friends));
+            persons.add(person);
+        }
+        modelManager = new ModelManager(persons, new ArrayList<>(Arrays.asList(friends)));
+    }
+
+    @Test
+    public void olderVersion_unaffectedByLaterChanges() throws DuplicateDataException {
+        Person hans = modelManager.getPersons().get(0);
+        ModelSnapshot before = modelManager.getSnapshot();
+
+        Person updated = new Person(hans);
+        updated.setCity("Basel");
+        modelManager.updatePerson(hans, updated);
+        modelManager.deletePerson(modelManager.getPersons().get(1));
+        modelManager.updateGroup(friends, new ContactGroup("buddies"));
+        ModelSnapshot after = modelManager.getSnapshot();
+
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(NUM_PERSONS, before.getPersons().size());
+        assertEquals(NUM_PERSONS - 1, after.getPersons().size());
+        assertTrue(!"Basel".equals(before.getPersons().get(0).getCity()));
+        assertEquals("Basel", after.getPersons().get(0).getCity());
+        assertEquals("friends", before.getPersons().get(2).getContactGroupsCopy().get(0).getName());
+        assertEquals("buddies", after.getPersons().get(1).getContactGroupsCopy().get(0).getName());
+    }
+
+    @Test
+    public void unchangedPersons_sharedBetweenVersions() {
+        ModelSnapshot before = modelManager.getSnapshot();
+        modelManager.deletePerson(modelManager.getPersons().get(0));
+        ModelSnapshot after = modelManager.getSnapshot();
+
+        assertNotSame(before, after);
+        assertSame(before.getPersons().get(1), after.getPersons().get(0));
+    }
+
+    @Test
+    public void updatedPerson_onlyItsCopyRemade() throws DuplicateDataException {
+        ModelSnapshot before = modelManager.getSnapshot();
+        Person hans = modelManager.getPersons().get(5);
+        Person updated = new Person(hans);
+        updated.setCity("Basel");
+        modelManager.updatePerson(hans, updated);
+        ModelSnapshot after = modelManager.getSnapshot();
+
+        for (int i = 0; i < NUM_PERSONS; i++) {
+            if (i == 5) {
+                assertNotSame(before.getPersons().get(i), after.getPersons().get(i));
+            } else {
+                assertSame(before.getPersons().get(i), after.getPersons().get(i));
+            }
+        }
+        assertEquals("Basel", after.getPersons().get(5).getCity());
+    }
+
+    @Test
+    public void mixedEdits_versionsMatchModel() throws DuplicateDataException {
+        Random random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            List<Person> persons = modelManager.getPersons();
+            Person person = persons.get(random.nextInt(persons.size()));
+            int choice = random.nextInt(5);
+            if (choice == 0) {
+                modelManager.addPerson(new Person("Added" + i, "Person"));
+            } else if (choice == 1) {
+                modelManager.deletePerson(person);
+            } else if (choice == 2) {
+                final Person other = persons.get(random.nextInt(persons.size()));
+                modelManager.transaction(transaction -> {
+                        Person updated = new Person(person);
+                        updated.setCity("City" + random.nextInt(100));
+                        transaction.updatePerson(person, updated)
+                                .deletePerson(other)
+                                .addPersons(Arrays.asList(new Person("Batch" + random.nextInt(), "Person")));
+                    });
+            } else if (choice == 3) {
+                modelManager.undo();
+            } else {
+                Person updated = new Person(person);
+                updated.setStreet("Street" + i);
+                modelManager.updatePerson(person, updated);
+            }
+            assertMatchesModel(modelManager.getSnapshot());
+        }
+    }
+
+    private void assertMatchesModel(ModelSnapshot snapshot) {
+        List<Person> persons = modelManager.getPersons();
+        assertEquals(persons.size(), snapshot.getPersons().size());
+        for (int i = 0; i < persons.size(); i++) {
+            assertNotSame(persons.get(i), snapshot.getPersons().get(i));
+            assertTrue(persons.get(i).hasSameDetails(snapshot.getPersons().get(i)));
+        }
+    }
+
+    /**
+     * A writer sets every person's postal code to the same value in each transaction, while readers check
+     * that every version they see has a single postal code and that versions only move forward.
+     */
+    @Test
+    public void concurrentReadersAndWriter_consistentVersions() throws InterruptedException {
+        final AtomicBoolean isRunning = new AtomicBoolean(true);
+        final AtomicLong reads = new AtomicLong();
+        final AtomicLong writes = new AtomicLong();
+        final ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < NUM_READERS; i++) {
+            threads.add(new Thread(() -> {
+                    long lastVersion = 0;
+                    while (isRunning.get()) {
+                        final ModelSnapshot snapshot = modelManager.getSnapshot();
+                        if (snapshot.getVersion() < lastVersion) {
+                            failures.add("version went back from " + lastVersion + " to " + snapshot.getVersion());
+                        }
+                        lastVersion = snapshot.getVersion();
+                        final int postalCode = snapshot.getPersons().get(0).getPostalCode();
+                        for (Person person : snapshot.getPersons()) {
+                            if (person.getPostalCode() != postalCode) {
+                                failures.add("inconsistent " + snapshot);
+                                break;
+                            }
+                        }
+                        reads.incrementAndGet();
+                    }
+                }));
+        }
+        threads.add(new Thread(() -> {
+                int postalCode = 0;
+                while (isRunning.get()) {
+                    final int newPostalCode = ++postalCode;
+                    try {
+                        modelManager.transaction(transaction -> modelManager.getPersons().forEach(person -> {
+                                final Person updated = new Person(person);
+                                updated.setPostalCode(newPostalCode);
+                                transaction.updatePerson(person, updated);
+                            }));
+                    } catch (DuplicateDataException e) {
+                        failures.add(e.toString());
+                    }
+                    writes.incrementAndGet();
+                }
+            }));
+
+        threads.forEach(Thread::start);
+        TimeUnit.MILLISECONDS.sleep(STRESS_DURATION_MS);
+        isRunning.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.println(String.format("Model versions: %d reads/s, %d writes/s over %d persons",
+                                         reads.get() * 1000 / STRESS_DURATION_MS,
+                                         writes.get() * 1000 / STRESS_DURATION_MS, NUM_PERSONS));
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertTrue(reads.get() > 0 && writes.get() > 0);
+    }
+}
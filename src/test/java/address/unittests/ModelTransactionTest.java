@@ -0,0 +1,142 @@
+package address.unittests;
+
+import address.events.EventManager;
+import address.events.LocalModelChangedEvent;
+import address.exceptions.DuplicateDataException;
+import address.model.AddressBookWrapper;
+import address.model.ContactGroup;
+import address.model.ModelManager;
+import address.model.Person;
+import address.util.AddressBookGenerator;
+import com.google.common.eventbus.Subscribe;
+import javafx.collections.ListChangeListener;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ModelTransactionTest {
+
+    private static final int LARGE_BOOK_SIZE = 20000;
+
+    private ModelManager modelManager;
+    private Person hans;
+    private Person ruth;
+    private ContactGroup friends;
+    private int modelChangedEvents;
+    private int personListChanges;
+
+    @Before
+    public void setup() {
+        hans = new Person("Hans", "Muster");
+        ruth = new Person("Ruth", "Mueller");
+        friends = new ContactGroup("friends");
+        modelManager = new ModelManager(new ArrayList<>(Arrays.asList(hans, ruth)),
+                                        new ArrayList<>(Arrays.asList(friends)));
+        modelManager.getPersons().addListener((ListChangeListener<Person>) change -> personListChanges++);
+        EventManager.getInstance().registerHandler(this);
+    }
+
+    @Subscribe
+    public void handleLocalModelChangedEvent(LocalModelChangedEvent event) {
+        if (event.personData == modelManager.getSnapshot().getPersons()) {
+            modelChangedEvents++;
+        }
+    }
+
+    @Test
+    public void transaction_singleChangeAndEvent() throws DuplicateDataException {
+        Person renamedHans = new Person(hans);
+        renamedHans.setFirstName("Hansi");
+        modelManager.transaction(transaction -> transaction
+                .addPersons(Arrays.asList(new Person("Heinz", "Kurz"), new Person("Anna", "Best")))
+                .updatePerson(hans, renamedHans)
+                .deletePerson(new Person("Ruth", "Mueller"))
+                .addGroup(new ContactGroup("relatives")));
+
+        assertEquals(1, modelChangedEvents);
+        assertEquals(1, personListChanges);
+        assertEquals(3, modelManager.getPersons().size());
+        assertSame(hans, modelManager.getPersons().get(0));
+        assertEquals("Hansi", hans.getFirstName());
+        assertFalse(modelManager.getPersons().contains(ruth));
+        assertEquals(2, modelManager.getGroupData().size());
+        Person heinz = modelManager.getPersons().get(1);
+        assertSame(heinz, modelManager.getPersonById(heinz.getId()).get());
+    }
+
+    @Test
+    public void transaction_deleteAndReAddSameName_allowed() throws DuplicateDataException {
+        modelManager.transaction(transaction -> transaction
+                .deletePerson(ruth)
+                .addPerson(new Person("Ruth", "Mueller")));
+
+        assertEquals(2, modelManager.getPersons().size());
+        assertFalse(modelManager.getPersons().stream().anyMatch(person -> person == ruth));
+    }
+
+    @Test
+    public void transaction_duplicates_modelUnchanged() {
+        Person hansAsRuth = new Person(hans);
+        hansAsRuth.setFirstName("Ruth");
+        hansAsRuth.setLastName("Mueller");
+        try {
+            modelManager.transaction(transaction -> transaction
+                    .addPerson(new Person("Heinz", "Kurz"))
+                    .updatePerson(hans, hansAsRuth));
+            fail("transaction causing duplicates should be rejected");
+        } catch (DuplicateDataException e) {
+            // expected
+        }
+
+        assertEquals(0, modelChangedEvents);
+        assertEquals(0, personListChanges);
+        assertEquals(Arrays.asList(hans, ruth), modelManager.getPersons());
+        assertEquals("Hans", hans.getFirstName());
+    }
+
+    @Test
+    public void externalData_singleEvent() {
+        AddressBookWrapper external = new AddressBookWrapper();
+        external.setPersons(new ArrayList<>(Arrays.asList(new Person(hans), new Person("Heinz", "Kurz"))));
+        external.setGroups(new ArrayList<>(Arrays.asList(new ContactGroup("relatives"))));
+        modelManager.updateUsingExternalData(external);
+
+        assertEquals(1, modelChangedEvents);
+        assertEquals(1, personListChanges);
+        assertEquals(2, modelManager.getPersons().size());
+    }
+
+    @Test
+    public void sampleData_singleEvent() {
+        modelManager.appendSampleData();
+
+        assertEquals(1, modelChangedEvents);
+        assertEquals(1, personListChanges);
+    }
+
+    @Test
+    public void resetData_largeBook_clearedInOneRemoval() {
+        AddressBookGenerator generator = new AddressBookGenerator(1);
+        modelManager.resetData(generator.generatePersons(LARGE_BOOK_SIZE), generator.getGroups());
+        List<Integer> removedSizes = new ArrayList<>();
+        modelManager.getPersons().addListener((ListChangeListener<Person>) change -> {
+                while (change.next()) {
+                    if (change.wasRemoved()) removedSizes.add(change.getRemovedSize());
+                }
+            });
+
+        modelManager.resetData(generator.generatePersons(LARGE_BOOK_SIZE), generator.getGroups());
+
+        assertEquals(Collections.singletonList(LARGE_BOOK_SIZE), removedSizes);
+        assertEquals(LARGE_BOOK_SIZE, modelManager.getPersons().size());
+    }
+}
@@ -4,6 +4,7 @@ import address.events.EventManager;
 import address.events.GroupSearchResultsChangedEvent;
 import address.model.ContactGroup;
 import address.model.PersonEditDialogGroupsModel;
+import address.model.SelectableContactGroup;
 import com.google.common.eventbus.Subscribe;
 import org.junit.Before;
 import org.junit.Test;
@@ -12,6 +13,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class PersonEditDialogModelTest {
     private static List<ContactGroup> getList(String... groups) {
@@ -51,4 +54,44 @@ public class PersonEditDialogModelTest {
         assertEquals(1, eventData.size());
         assertEquals(allGroups.get(1), eventData.get(0));
     }
+
+    @Test
+    public void filterGroups_narrowAndWiden_keepsOrder() {
+        List<ContactGroup> allGroups = getList("friends", "relatives", "colleagues", "neighbours", "family");
+        PersonEditDialogGroupsModel model = new PersonEditDialogGroupsModel(allGroups, getList());
+        model.setFilter("e");
+        assertEquals(getList("friends", "relatives", "colleagues", "neighbours"), getNames(eventData));
+        model.setFilter("l");
+        assertEquals(getList("relatives", "colleagues", "family"), getNames(eventData));
+        model.setFilter("s");
+        assertEquals(getList("relatives", "colleagues", "friends", "neighbours"), getNames(eventData));
+        model.setFilter("x");
+        assertTrue(eventData.isEmpty());
+        model.setFilter("");
+        assertEquals(allGroups, getNames(eventData));
+    }
+
+    @Test
+    public void toggleSelection_assignsAndUnassignsSelectedGroup() {
+        List<ContactGroup> allGroups = getList("friends", "relatives", "colleagues");
+        PersonEditDialogGroupsModel model = new PersonEditDialogGroupsModel(allGroups, getList("friends"));
+        model.setFilter("e");
+        model.selectNext();
+        assertTrue(((SelectableContactGroup) eventData.get(1)).isSelected());
+        assertFalse(((SelectableContactGroup) eventData.get(0)).isSelected());
+
+        model.toggleSelection();
+        assertEquals(getList("friends", "relatives"), model.getAssignedGroups());
+        model.selectPrevious();
+        model.toggleSelection();
+        assertEquals(getList("relatives"), model.getAssignedGroups());
+    }
+
+    private static List<ContactGroup> getNames(List<ContactGroup> groups) {
+        List<ContactGroup> names = new ArrayList<>();
+        for (ContactGroup group : groups) {
+            names.add(new ContactGroup(group.getName()));
+        }
+        return names;
+    }
 }
@@ -0,0 +1,97 @@
+package address.unittests;
+
+import address.model.AddressBookWrapper;
+import address.model.ContactGroup;
+import address.model.ModelManager;
+import address.model.Person;
+import address.util.XmlHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PersonIdTest {
+
+    private ModelManager modelManager;
+    private Person hans;
+    private Person ruth;
+
+    @Before
+    public void setup() {
+        hans = new Person("Hans", "Muster");
+        ruth = new Person("Ruth", "Mueller");
+        modelManager = new ModelManager(new ArrayList<>(Arrays.asList(hans, ruth)), new ArrayList<>());
+    }
+
+    private void updateUsingExternalData(Person... persons) {
+        AddressBookWrapper external = new AddressBookWrapper();
+        external.setPersons(new ArrayList<>(Arrays.asList(persons)));
+        external.setGroups(new ArrayList<>());
+        modelManager.updateUsingExternalData(external);
+    }
+
+    @Test
+    public void addedPersons_uniqueIdsAssigned() {
+        Person copy = new Person("Heinz", "Kurz");
+        copy.setId(hans.getId());
+        modelManager.getPersons().add(copy);
+
+        assertTrue(hans.getId() != 0 && ruth.getId() != 0);
+        assertNotEquals(hans.getId(), ruth.getId());
+        assertNotEquals(hans.getId(), copy.getId());
+        assertSame(copy, modelManager.getPersonById(copy.getId()).get());
+    }
+
+    @Test
+    public void externalRename_updatesPersonInPlace() {
+        Person renamed = new Person(hans);
+        renamed.setFirstName("Hansi");
+        updateUsingExternalData(renamed, new Person(ruth));
+
+        assertEquals(2, modelManager.getPersons().size());
+        assertSame(hans, modelManager.getPersons().get(0));
+        assertEquals("Hansi", hans.getFirstName());
+        assertSame(hans, modelManager.getPersonById(renamed.getId()).get());
+    }
+
+    @Test
+    public void externalRenameToRemovedName_keepsRenamedPerson() {
+        Person renamed = new Person(hans);
+        renamed.setFirstName("Ruth");
+        renamed.setLastName("Mueller");
+        updateUsingExternalData(renamed);
+
+        assertEquals(1, modelManager.getPersons().size());
+        assertSame(hans, modelManager.getPersons().get(0));
+        assertEquals("Ruth", hans.getFirstName());
+    }
+
+    @Test
+    public void externalRecordWithoutId_matchedByName() {
+        long id = hans.getId();
+        updateUsingExternalData(new Person("Hans", "Muster"), new Person(ruth));
+
+        assertEquals(2, modelManager.getPersons().size());
+        assertSame(hans, modelManager.getPersons().get(0));
+        assertEquals(id, hans.getId());
+    }
+
+    @Test
+    public void saveAndLoad_idsKept() throws Exception {
+        File file = File.createTempFile("addressbook", ".xml");
+        file.deleteOnExit();
+        XmlHelper.saveToFile(file, modelManager.getPersons(), Arrays.asList(new ContactGroup("friends")));
+
+        List<Person> loaded = XmlHelper.getDataFromFile(file).getPersons();
+        assertEquals(hans.getId(), loaded.get(0).getId());
+        assertEquals(ruth.getId(), loaded.get(1).getId());
+    }
+}
@@ -0,0 +1,100 @@
+package address.unittests;
+
+import address.exceptions.DuplicatePersonException;
+import address.model.AddressBookWrapper;
+import address.model.ContactGroup;
+import address.model.ModelManager;
+import address.model.Person;
+import address.parser.ParseException;
+import address.parser.Parser;
+import address.parser.expr.Expr;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PersonIndexesTest {
+
+    private ModelManager modelManager;
+    private Person hans;
+    private Person ruth;
+
+    private static Person createPerson(String firstName, String lastName, String city, LocalDate birthday) {
+        Person person = new Person(firstName, lastName);
+        person.setCity(city);
+        person.setBirthday(birthday);
+        return person;
+    }
+
+    @Before
+    public void setup() {
+        hans = createPerson("Hans", "Muster", "Zurich", LocalDate.of(1980, 3, 2));
+        ruth = createPerson("Ruth", "Mueller", "Bern", LocalDate.of(1975, 3, 30));
+        modelManager = new ModelManager(new ArrayList<>(Arrays.asList(hans, ruth)),
+                                        Collections.singletonList(new ContactGroup("friends")));
+    }
+
+    @Test
+    public void initialData_indexed() {
+        assertEquals(Collections.singleton(hans), modelManager.getPersonIndexes().byCity().get("zurich"));
+        assertEquals(2, modelManager.getPersonIndexes().byBirthday()
+                .range(LocalDate.of(1970, 1, 1), LocalDate.of(1990, 1, 1)).size());
+        assertEquals(2, modelManager.getBirthdayMonthCounts()[2]);
+    }
+
+    @Test
+    public void updatePerson_reindexed() throws DuplicatePersonException {
+        Person updated = new Person(hans);
+        updated.setCity("Bern");
+        updated.setBirthday(LocalDate.of(1980, 5, 1));
+        modelManager.updatePerson(hans, updated);
+
+        assertTrue(modelManager.getPersonIndexes().byCity().get("zurich").isEmpty());
+        assertEquals(2, modelManager.getPersonIndexes().byCity().count("bern"));
+        assertEquals(1, modelManager.getBirthdayMonthCounts()[2]);
+        assertEquals(1, modelManager.getBirthdayMonthCounts()[4]);
+    }
+
+    @Test
+    public void deletePerson_removedFromIndex() {
+        modelManager.deletePerson(ruth);
+
+        assertEquals(0, modelManager.getPersonIndexes().byCity().count("bern"));
+        assertEquals(1, modelManager.getPersonIndexes().byPostalCode().size());
+    }
+
+    @Test
+    public void externalDataUpdate_reindexed() {
+        AddressBookWrapper external = new AddressBookWrapper();
+        Person movedRuth = new Person(ruth);
+        movedRuth.setCity("Zurich");
+        external.setPersons(new ArrayList<>(Arrays.asList(movedRuth,
+                createPerson("Anna", "Best", "Basel", LocalDate.of(1990, 12, 1)))));
+        external.setGroups(new ArrayList<>());
+        modelManager.updateUsingExternalData(external);
+
+        assertEquals(Collections.singleton(ruth), modelManager.getPersonIndexes().byCity().get("zurich"));
+        assertEquals(1, modelManager.getPersonIndexes().byCity().count("basel"));
+        assertEquals(2, modelManager.getPersonIndexes().byGroup().count("friends"));
+    }
+
+    @Test
+    public void soundsLikeQuery_resolvedThroughPhoneticIndex() throws ParseException, DuplicatePersonException {
+        Expr expr = Parser.parse("sounds:Mustr");
+        assertEquals(Collections.singleton(hans), expr.getCandidates(modelManager.getPersonIndexes()).get());
+        assertTrue(expr.satisfies(hans));
+        assertFalse(expr.satisfies(ruth));
+
+        Person renamed = new Person(ruth);
+        renamed.setLastName("Mustor");
+        modelManager.updatePerson(ruth, renamed);
+        assertEquals(2, modelManager.getPersonIndexes().byPhoneticName().count("M236"));
+    }
+}
@@ -0,0 +1,90 @@
+package address.unittests;
+
+import address.model.ContactGroup;
+import address.model.Person;
+import address.model.SelectableContactGroup;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PersonTest {
+
+    @Test
+    public void hashCode_followsNameChanges() {
+        Person person = new Person("Hans", "Muster");
+        int originalHash = person.hashCode();
+
+        person.setFirstName("Ruth");
+        assertEquals(new Person("Ruth", "Muster").hashCode(), person.hashCode());
+        assertNotEquals(originalHash, person.hashCode());
+
+        person.lastNameProperty().set("Mueller");
+        assertEquals(new Person("Ruth", "Mueller").hashCode(), person.hashCode());
+
+        Person other = new Person("Hans", "Muster");
+        other.update(person);
+        assertEquals(person.hashCode(), other.hashCode());
+        assertEquals(person, other);
+    }
+
+    @Test
+    public void hashSet_findsPersonAfterRehash() {
+        Person person = new Person("Hans", "Muster");
+        Set<Person> persons = new HashSet<>();
+        persons.add(person);
+        person.setLastName("Meier");
+
+        Set<Person> rehashed = new HashSet<>(persons);
+        assertTrue(rehashed.contains(new Person("Hans", "Meier")));
+        assertFalse(rehashed.contains(new Person("Hans", "Muster")));
+    }
+
+    @Test
+    public void property_keptInStepWithGetter() {
+        Person person = new Person("Hans", "Muster");
+        person.cityProperty().set("Bern");
+        person.cityProperty().set("Basel"); // not read in between
+        person.birthdayProperty();
+        person.setBirthday(null);
+
+        assertEquals("Hans", person.getFirstName());
+        assertEquals("Hans", person.firstNameProperty().get());
+        assertEquals("Basel", person.getCity());
+        assertEquals(null, person.getBirthday());
+
+        ContactGroup group = new ContactGroup("friends");
+        group.nameProperty().set("buddies");
+        group.nameProperty().set("relatives");
+        assertEquals("relatives", group.getName());
+    }
+
+    @Test
+    public void blankPerson_noDummyDetails() {
+        Person person = new Person();
+        assertTrue(person.getContactGroupsCopy().isEmpty());
+        assertEquals(null, person.getStreet());
+        assertEquals(null, person.getUpdatedAt());
+
+        person.contactGroupsProperty();
+        person.setContactGroups(Collections.singletonList(new ContactGroup("friends")));
+        assertEquals(Collections.singletonList(new ContactGroup("friends")), person.contactGroupsProperty());
+    }
+
+    @Test
+    public void contactGroup_hashCodeFollowsRename() {
+        ContactGroup group = new ContactGroup("friends");
+        int originalHash = group.hashCode();
+        group.nameProperty().set("buddies");
+
+        assertEquals(new ContactGroup("buddies").hashCode(), group.hashCode());
+        assertNotEquals(originalHash, group.hashCode());
+        assertEquals(group, new SelectableContactGroup(new ContactGroup("buddies")));
+    }
+}
@@ -0,0 +1,146 @@
+package address.unittests;
+
+import address.exceptions.DuplicatePersonException;
+import address.model.ModelManager;
+import address.model.Person;
+import address.model.PersonSortOrder;
+import address.model.SortedPersonList;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SortedPersonListTest {
+
+    private ObservableList<Person> source;
+    private SortedPersonList sorted;
+    /** Kept in step with the sorted list by replaying its change events only */
+    private List<Person> mirror;
+
+    private static Person createPerson(String firstName, String lastName, String city, LocalDate birthday) {
+        Person person = new Person(firstName, lastName);
+        person.setCity(city);
+        person.setBirthday(birthday);
+        return person;
+    }
+
+    @Before
+    public void setup() {
+        source = FXCollections.observableArrayList(
+                createPerson("Hans", "Zeller", "Zurich", LocalDate.of(1980, 3, 2)),
+                createPerson("Ruth", "Ernst", "Bern", null),
+                createPerson("Anna", "\u00c9gli", "Basel", LocalDate.of(1975, 1, 30)),
+                createPerson("Bert", "ernst", "Aarau", LocalDate.of(1990, 12, 1)));
+        sorted = new SortedPersonList(source);
+        mirror = new ArrayList<>();
+        sorted.addListener((ListChangeListener<Person>) change -> {
+                while (change.next()) {
+                    if (change.wasPermutated()) {
+                        List<Person> permuted = new ArrayList<>(mirror);
+                        for (int i = change.getFrom(); i < change.getTo(); i++) {
+                            permuted.set(change.getPermutation(i), mirror.get(i));
+                        }
+                        mirror.clear();
+                        mirror.addAll(permuted);
+                    } else if (!change.wasUpdated()) {
+                        mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+                        mirror.addAll(change.getFrom(), change.getAddedSubList());
+                    }
+                }
+            });
+    }
+
+    private List<String> getFirstNames(List<Person> persons) {
+        List<String> names = new ArrayList<>();
+        persons.forEach(person -> names.add(person.getFirstName()));
+        return names;
+    }
+
+    private void assertOrder(String... firstNames) {
+        assertEquals(Arrays.asList(firstNames), getFirstNames(sorted));
+        assertEquals(Arrays.asList(firstNames), getFirstNames(mirror));
+    }
+
+    @Test
+    public void unsorted_empty() {
+        assertTrue(sorted.isEmpty());
+        source.add(new Person("Carl", "Muster"));
+        assertTrue(sorted.isEmpty());
+    }
+
+    @Test
+    public void setSortOrder_sortsByLocaleRules() {
+        sorted.setSortOrder(PersonSortOrder.LAST_NAME);
+        assertOrder("Anna", "Bert", "Ruth", "Hans");
+        sorted.setSortOrder(PersonSortOrder.CITY);
+        assertOrder("Bert", "Anna", "Ruth", "Hans");
+        sorted.setSortOrder(PersonSortOrder.BIRTHDAY);
+        assertOrder("Anna", "Hans", "Bert", "Ruth");
+        sorted.setSortOrder(PersonSortOrder.NONE);
+        assertOrder();
+    }
+
+    @Test
+    public void byPostalCode_missingLast() {
+        source.get(0).setPostalCode(8000);
+        source.get(1).setPostalCode(0);
+        source.get(2).setPostalCode(4000);
+        source.get(3).setPostalCode(5000);
+        sorted.setSortOrder(PersonSortOrder.POSTAL_CODE);
+        assertOrder("Anna", "Bert", "Hans", "Ruth");
+    }
+
+    @Test
+    public void sourceChanges_insertedInPlace() {
+        sorted.setSortOrder(PersonSortOrder.FIRST_NAME);
+        source.add(createPerson("Carl", "Muster", "Chur", null));
+        source.remove(0);
+        assertOrder("Anna", "Bert", "Carl", "Ruth");
+
+        List<Person> many = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            many.add(createPerson("Zoe" + (char) ('z' - i % 26), "Muster", "Chur", null));
+        }
+        source.addAll(many);
+        assertEquals(54, sorted.size());
+        assertEquals(getFirstNames(sorted), getFirstNames(mirror));
+        List<String> expected = getFirstNames(source);
+        Collections.sort(expected);
+        assertEquals(expected, getFirstNames(sorted));
+    }
+
+    @Test
+    public void personLeavingView_keyDropped() {
+        sorted.setSortOrder(PersonSortOrder.FIRST_NAME);
+        Person hans = source.remove(0);
+        hans.setFirstName("Aaron");
+        source.add(hans);
+        assertOrder("Aaron", "Anna", "Bert", "Ruth");
+    }
+
+    @Test
+    public void update_movedIntoPlace() throws DuplicatePersonException {
+        ModelManager modelManager = new ModelManager(new ArrayList<>(source), new ArrayList<>());
+        SortedPersonList view = modelManager.getSortedPersons();
+        view.setSortOrder(PersonSortOrder.LAST_NAME);
+        Person hans = view.get(3);
+
+        Person updated = new Person(hans);
+        updated.setLastName("Aebi");
+        modelManager.updatePerson(hans, updated);
+        assertEquals(hans, view.get(0));
+
+        modelManager.deletePerson(hans);
+        assertEquals(3, view.size());
+    }
+}
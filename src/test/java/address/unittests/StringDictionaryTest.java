@@ -0,0 +1,59 @@
+package address.unittests;
+
+import address.model.AddressBookWrapper;
+import address.model.ContactGroup;
+import address.model.Person;
+import address.util.StringDictionary;
+import address.util.XmlHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StringDictionaryTest {
+
+    @Test
+    public void intern_equalStringsShared() {
+        StringDictionary dictionary = new StringDictionary();
+        String first = new String("Zurich");
+        String second = new String("Zurich");
+
+        assertSame(first, dictionary.intern(first));
+        assertSame(first, dictionary.intern(second));
+        assertSame(first, dictionary.intern(first));
+        assertEquals(1, dictionary.size());
+        assertEquals(2, dictionary.getHits());
+        assertEquals(1, dictionary.getMisses());
+        assertEquals(StringDictionary.getRetainedSize(second), dictionary.getBytesSaved());
+    }
+
+    @Test
+    public void loadFromFile_repeatedFieldsShared() throws Exception {
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Person person = new Person("First" + i, "Last" + i);
+            person.setCity(new String("Zurich"));
+            person.setStreet(new String("Main Street"));
+            persons.add(person);
+        }
+        File file = File.createTempFile("addressbook", ".xml");
+        file.deleteOnExit();
+        XmlHelper.saveToFile(file, persons, Arrays.asList(new ContactGroup("friends")));
+
+        StringDictionary dictionary = new StringDictionary();
+        AddressBookWrapper data = XmlHelper.getDataFromFile(file, dictionary);
+
+        assertSame(data.getPersons().get(0).getCity(), data.getPersons().get(9).getCity());
+        assertSame(data.getPersons().get(0).getStreet(), data.getPersons().get(9).getStreet());
+        assertNotSame(data.getPersons().get(0).getFirstName(), data.getPersons().get(9).getFirstName());
+        assertTrue(dictionary.getHits() >= 18);
+        assertTrue(dictionary.getBytesSaved() > 0);
+    }
+}
@@ -0,0 +1,111 @@
+package address.unittests;
+
+import address.exceptions.DuplicatePersonException;
+import address.model.ContactGroup;
+import address.model.ModelManager;
+import address.model.Person;
+import address.model.index.UpcomingBirthdayIndex;
+import address.parser.ParseException;
+import address.parser.Parser;
+import address.parser.qualifier.UpcomingBirthdayQualifier;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UpcomingBirthdayTest {
+
+    private ModelManager modelManager;
+    private UpcomingBirthdayIndex index;
+    private Person newYear;
+    private Person leapDay;
+    private Person spring;
+    private Person newYearsEve;
+    private Person noBirthday;
+
+    private static Person createPerson(String firstName, LocalDate birthday) {
+        Person person = new Person(firstName, "Muster");
+        person.setBirthday(birthday);
+        return person;
+    }
+
+    @Before
+    public void setup() {
+        newYear = createPerson("Anna", LocalDate.of(1980, 1, 1));
+        leapDay = createPerson("Bert", LocalDate.of(1984, 2, 29));
+        spring = createPerson("Carl", LocalDate.of(1975, 3, 1));
+        newYearsEve = createPerson("Dora", LocalDate.of(1990, 12, 31));
+        noBirthday = createPerson("Emil", null);
+        modelManager = new ModelManager(
+                new ArrayList<>(Arrays.asList(newYear, leapDay, spring, newYearsEve, noBirthday)),
+                Collections.<ContactGroup>emptyList());
+        index = modelManager.getPersonIndexes().byUpcomingBirthday();
+    }
+
+    @Test
+    public void upcoming_wrapsAroundYearEnd() {
+        assertEquals(new HashSet<>(Arrays.asList(newYearsEve, newYear)),
+                     index.upcoming(LocalDate.of(2015, 12, 30), 2));
+        assertEquals(Collections.singleton(newYearsEve), index.upcoming(LocalDate.of(2015, 12, 31), 0));
+        assertEquals(4, index.upcoming(LocalDate.of(2015, 6, 1), 365).size());
+    }
+
+    @Test
+    public void upcoming_leapDayBirthdayOn28FebruaryInOtherYears() {
+        assertEquals(Collections.singleton(leapDay), index.upcoming(LocalDate.of(2015, 2, 27), 1));
+        assertTrue(index.upcoming(LocalDate.of(2016, 2, 27), 1).isEmpty());
+        assertEquals(Collections.singleton(leapDay), index.upcoming(LocalDate.of(2016, 2, 27), 2));
+        assertEquals(LocalDate.of(2015, 2, 28),
+                     UpcomingBirthdayIndex.getNextBirthday(leapDay.getBirthday(), LocalDate.of(2015, 1, 1)));
+        assertEquals(LocalDate.of(2016, 2, 29),
+                     UpcomingBirthdayIndex.getNextBirthday(leapDay.getBirthday(), LocalDate.of(2015, 3, 1)));
+    }
+
+    @Test
+    public void next_inOrderOfNextBirthday() {
+        assertEquals(Arrays.asList(spring, newYearsEve, newYear), index.next(LocalDate.of(2015, 3, 1), 3));
+        assertEquals(Arrays.asList(newYearsEve, newYear, leapDay, spring), index.next(LocalDate.of(2015, 12, 2), 10));
+        assertTrue(index.next(LocalDate.of(2015, 12, 2), 0).isEmpty());
+        assertTrue(index.next(LocalDate.of(2015, 12, 2), -1).isEmpty());
+    }
+
+    @Test
+    public void updatePerson_reindexed() throws DuplicatePersonException {
+        Person updated = new Person(spring);
+        updated.setBirthday(LocalDate.of(1975, 12, 30));
+        modelManager.updatePerson(spring, updated);
+        modelManager.deletePerson(newYearsEve);
+
+        assertEquals(Arrays.asList(spring, newYear), index.next(LocalDate.of(2015, 12, 1), 2));
+        assertTrue(index.upcoming(LocalDate.of(2015, 3, 1), 0).isEmpty());
+    }
+
+    @Test
+    public void qualifier_matchesCandidates() {
+        UpcomingBirthdayQualifier qualifier = new UpcomingBirthdayQualifier(2, LocalDate.of(2015, 12, 30));
+        assertEquals(new HashSet<>(Arrays.asList(newYearsEve, newYear)),
+                     qualifier.getCandidates(modelManager.getPersonIndexes()).get());
+        assertTrue(qualifier.run(newYear));
+        assertFalse(qualifier.run(spring));
+        assertFalse(qualifier.run(noBirthday));
+    }
+
+    @Test
+    public void parse_upcoming() throws ParseException {
+        assertTrue(Parser.parse("upcoming:365").satisfies(spring));
+        assertFalse(Parser.parse("upcoming:365").satisfies(noBirthday));
+    }
+
+    @Test(expected = ParseException.class)
+    public void parse_upcomingNotANumber_rejected() throws ParseException {
+        Parser.parse("upcoming:soon");
+    }
+}